@@ -1,6 +1,9 @@
 package io.jenkins.blueocean.blueocean_bitbucket_pipeline;
 
 import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import hudson.ProxyConfiguration;
@@ -12,12 +15,15 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
@@ -27,12 +33,54 @@ import java.net.Proxy;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * @author Vivek Pandey
  */
 @Restricted(NoExternalUse.class)
 public class HttpRequest {
+    /**
+     * Maximum number of pooled connections to a Bitbucket host. Default 5.
+     */
+    static final int MAX_CONNECTIONS_PER_ROUTE = Integer.getInteger("BITBUCKET_HTTP_MAX_CONNECTIONS_PER_ROUTE", 5);
+
+    /**
+     * Maximum number of pooled connections of a client, the same as per route unless a proxy is shared by several
+     * routes. Default 20.
+     */
+    static final int MAX_CONNECTIONS = Integer.getInteger("BITBUCKET_HTTP_MAX_CONNECTIONS", 20);
+
+    /**
+     * Time a request waits for a pooled connection, in milliseconds. Default 30000.
+     */
+    static final int CONNECTION_REQUEST_TIMEOUT_MILLIS = Integer.getInteger("BITBUCKET_HTTP_CONNECTION_REQUEST_TIMEOUT_MILLIS", 30000);
+
+    /**
+     * Maximum number of Bitbucket hosts with a pooled client. Default 32.
+     */
+    static final long CLIENT_CACHE_MAX_SIZE = Long.getLong("BITBUCKET_HTTP_CLIENT_CACHE_MAX_SIZE", 32);
+
+    private static final Logger LOGGER = Logger.getLogger(HttpRequest.class.getName());
+
+    /** One pooled client per host and proxy, closed once evicted */
+    private static final LoadingCache<ClientKey, CloseableHttpClient> CLIENTS = Caffeine.newBuilder()
+            .maximumSize(CLIENT_CACHE_MAX_SIZE)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .removalListener((ClientKey key, CloseableHttpClient client, RemovalCause cause) -> {
+                if (client != null) {
+                    try {
+                        client.close();
+                    } catch (IOException e) {
+                        LOGGER.log(Level.FINE, "Failed to close HTTP client of " + key, e);
+                    }
+                }
+            })
+            .build(HttpRequest::createHttpClient);
+
     private final HttpClient client;
     private final String authorizationHeader;
 
@@ -97,26 +145,40 @@ public class HttpRequest {
     }
 
 
-    private  HttpClient getHttpClient(@NonNull String apiUrl) {
-        HttpClientBuilder clientBuilder = HttpClientBuilder.create().disableAutomaticRetries()
-                .disableRedirectHandling();
-        setClientProxyParams(apiUrl, clientBuilder);
-        return clientBuilder.build();
-    }
-
-    private void setClientProxyParams(String apiUrl, HttpClientBuilder clientBuilder) {
+    private static HttpClient getHttpClient(@NonNull String apiUrl) {
         try {
             URL url = new URL(apiUrl);
             ProxyConfiguration proxyConfig = Jenkins.get().proxy;
             Proxy proxy = proxyConfig != null ? proxyConfig.createProxy(url.getHost()) : Proxy.NO_PROXY;
+            HttpHost proxyHost = null;
             if (!proxy.equals(Proxy.NO_PROXY) && proxyConfig != null) {
-                clientBuilder.setProxy(new HttpHost(proxyConfig.name, proxyConfig.port));
+                proxyHost = new HttpHost(proxyConfig.name, proxyConfig.port);
             }
+            int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+            return CLIENTS.get(new ClientKey(new HttpHost(url.getHost(), port, url.getProtocol()), proxyHost));
         } catch (MalformedURLException e) {
             throw new ServiceException.UnexpectedErrorException("Invalid apiUrl: "+apiUrl, e);
         }
     }
 
+    private static CloseableHttpClient createHttpClient(ClientKey key) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(1, TimeUnit.HOURS);
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        HttpClientBuilder clientBuilder = HttpClientBuilder.create().disableAutomaticRetries()
+                .disableRedirectHandling()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                                                      .setConnectionRequestTimeout(CONNECTION_REQUEST_TIMEOUT_MILLIS)
+                                                      .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(30, TimeUnit.SECONDS);
+        if (key.proxy != null) {
+            clientBuilder.setProxy(key.proxy);
+        }
+        return clientBuilder.build();
+    }
+
     private HttpUriRequest setAuthorizationHeader(HttpUriRequest request){
         if(StringUtils.isNotBlank(authorizationHeader)) {
             request.addHeader("Authorization", authorizationHeader);
@@ -124,6 +186,38 @@ public class HttpRequest {
         return request;
     }
 
+    private static final class ClientKey {
+        private final HttpHost target;
+        private final HttpHost proxy;
+
+        private ClientKey(@NonNull HttpHost target, @Nullable HttpHost proxy) {
+            this.target = target;
+            this.proxy = proxy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return target.equals(that.target) && Objects.equals(proxy, that.proxy);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * target.hashCode() + (proxy != null ? proxy.hashCode() : 0);
+        }
+
+        @Override
+        public String toString() {
+            return proxy == null ? target.toURI() : target.toURI() + " via " + proxy.toURI();
+        }
+    }
+
     public static class HttpRequestBuilder {
         private final String url;
         private String authHeader;
@@ -91,4 +91,12 @@ public class HttpResponse {
     public @CheckForNull String getHeader(String name) {
         return response.getFirstHeader(name).getValue();
     }
+
+    /**
+     * Discards the content, if any, so that the connection goes back to the pool. Needed when only the status or the
+     * headers of the response are read.
+     */
+    public void consume() {
+        EntityUtils.consumeQuietly(response.getEntity());
+    }
 }
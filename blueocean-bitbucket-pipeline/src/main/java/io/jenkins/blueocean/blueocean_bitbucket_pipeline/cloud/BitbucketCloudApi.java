@@ -201,6 +201,7 @@ public class BitbucketCloudApi extends BitbucketApi {
         HttpEntity entity = builder.build();
         HttpResponse response = request.post(String.format("%s/%s/%s/src",baseUrl+"repositories",encodePath(orgId),encodePath(repoSlug)), entity);
         int status = response.getStatus();
+        response.consume();
         if(status == 201){
             String location = response.getHeader("Location");
             if(location == null){
@@ -226,6 +227,7 @@ public class BitbucketCloudApi extends BitbucketApi {
                     encodePath(repoSlug),
                     encodePath(branch)));
             if(response.getStatus() == 404){
+                response.consume();
                 return null;
             }
             return om.readValue(response.getContent(), BbCloudBranch.class);
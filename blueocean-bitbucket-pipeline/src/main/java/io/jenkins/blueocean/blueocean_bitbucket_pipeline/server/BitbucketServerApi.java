@@ -2,8 +2,14 @@ package io.jenkins.blueocean.blueocean_bitbucket_pipeline.server;
 
 
 import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketEndpointConfiguration;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import hudson.util.VersionNumber;
 import io.jenkins.blueocean.blueocean_bitbucket_pipeline.BitbucketApi;
 import io.jenkins.blueocean.blueocean_bitbucket_pipeline.BitbucketApiFactory;
@@ -27,13 +33,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.utils.URIBuilder;
@@ -47,6 +57,43 @@ import static io.jenkins.blueocean.commons.JsonConverter.om;
  */
 public class BitbucketServerApi extends BitbucketApi {
     public static final VersionNumber MINIMUM_SUPPORTED_VERSION = new VersionNumber("5.2.0");
+
+    /**
+     * Time a Bitbucket server version is remembered, in minutes. Set to 0 to ask the server every time. Default 60.
+     */
+    static final long VERSION_CACHE_TTL_MINUTES = Long.getLong("BITBUCKET_VERSION_CACHE_TTL_MINUTES", 60);
+
+    /** Versions by API url, cleared whenever the endpoint configuration is saved */
+    private static final Cache<String, String> VERSIONS = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(VERSION_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * File content cache maximum size, in characters. Set to 0 to disable the cache. Default 4194304.
+     */
+    static final long CONTENT_CACHE_MAX_CHARS = Long.getLong("BITBUCKET_CONTENT_CACHE_MAX_CHARS", 4 * 1024 * 1024);
+
+    /** Content of files at a commit, which never changes */
+    private static final Cache<String, String> CONTENTS = Caffeine.newBuilder()
+            .maximumWeight(CONTENT_CACHE_MAX_CHARS)
+            .weigher((String key, String content) -> key.length() + content.length())
+            .build();
+
+    /** Whether the raw file endpoint is available, by API url */
+    private static final Cache<String, Boolean> RAW_SUPPORT = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(VERSION_CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    private static final Pattern COMMIT_ID = Pattern.compile("[0-9a-fA-F]{40}");
+
+    /** Lines asked for in the first page of a browse request, the default of Bitbucket */
+    private static final int BROWSE_PAGE_SIZE = 500;
+
+    /** Lines asked for in the following pages, servers cap it at their <code>page.max.source.lines</code> */
+    private static final int BROWSE_MAX_PAGE_SIZE = 5000;
+
     private final String baseUrl;
     private final StandardUsernamePasswordCredentials credentials;
 
@@ -58,14 +105,29 @@ public class BitbucketServerApi extends BitbucketApi {
     }
 
     /**
-     * Gives Bitbucket server version
+     * Gives Bitbucket server version, remembered for {@link #VERSION_CACHE_TTL_MINUTES} once known
      * @param apiUrl API url of Bitbucket server
      * @return version of Bitbucket server
      */
     public @Nonnull static String getVersion(@Nonnull String apiUrl){
-        try {
-            apiUrl = ensureTrailingSlash(apiUrl);
+        apiUrl = ensureTrailingSlash(apiUrl);
+        if(VERSION_CACHE_TTL_MINUTES <= 0){
+            return loadVersion(apiUrl);
+        }
+        // failures are thrown and not cached, so an endpoint that is fixed is seen as such on the next call
+        return VERSIONS.get(apiUrl, BitbucketServerApi::loadVersion);
+    }
 
+    /**
+     * Forgets the known Bitbucket server versions and capabilities.
+     */
+    static void invalidateVersions(){
+        VERSIONS.invalidateAll();
+        RAW_SUPPORT.invalidateAll();
+    }
+
+    private static String loadVersion(String apiUrl){
+        try {
             HttpRequest request = new HttpRequest.HttpRequestBuilder(apiUrl).build();
             HttpResponse response = request.get(apiUrl+"rest/api/1.0/application-properties");
             int status = response.getStatus();
@@ -81,6 +143,7 @@ public class BitbucketServerApi extends BitbucketApi {
                     error += " with location at: "+baseUrl;
                 }
                 error += ". \nPlease use correct Bitbucket Server endpoint.";
+                response.consume();
                 throw new ServiceException(status, error);
             }
             InputStream inputStream = response.getContent();
@@ -173,9 +236,89 @@ public class BitbucketServerApi extends BitbucketApi {
 
     @Override
     public @Nonnull String getContent(@Nonnull String orgId, @Nonnull String repoSlug, @Nonnull String path, @Nonnull String commitId){
-        List<String> content = new ArrayList<>();
-        getAndBuildContent(orgId, repoSlug, path, commitId,0, 500, content); //default size as in bitbucket API
-        return String.join("\n", content);
+        if(CONTENT_CACHE_MAX_CHARS <= 0 || !COMMIT_ID.matcher(commitId).matches()){
+            return loadContent(orgId, repoSlug, path, commitId);
+        }
+        // the user is part of the key so that content is only served to users who could read it
+        String key = String.join("\n", apiUrl, userName, orgId, repoSlug, path, commitId);
+        return CONTENTS.get(key, k -> loadContent(orgId, repoSlug, path, commitId));
+    }
+
+    private String loadContent(String projectKey, String repoSlug, String path, String commitId){
+        if(RAW_SUPPORT.getIfPresent(apiUrl) != Boolean.FALSE){
+            String content = getRawContent(projectKey, repoSlug, path, commitId);
+            if(content != null){
+                RAW_SUPPORT.put(apiUrl, Boolean.TRUE);
+                return content;
+            }
+        }
+        String content = getBrowseContent(projectKey, repoSlug, path, commitId);
+        // the file exists, so a server that did not find it raw has no raw endpoint
+        RAW_SUPPORT.put(apiUrl, Boolean.FALSE);
+        return content;
+    }
+
+    /**
+     * Reads the file with a single request to the raw endpoint.
+     *
+     * The browse endpoint gives lines, which are joined without a trailing line break, so the line break ending the
+     * file is dropped here too: a file reads the same whichever endpoint the server has.
+     *
+     * @return content of the file, null if the server has no raw endpoint or did not find the file
+     */
+    private @CheckForNull String getRawContent(String projectKey, String repoSlug, String path, String commitId){
+        try {
+            URIBuilder uriBuilder = new URIBuilder(String.format("%s/%s/repos/%s/raw/%s",baseUrl+"projects",
+                    projectKey, repoSlug, path));
+            uriBuilder.addParameter("at", commitId);
+            HttpResponse response = request.get(uriBuilder.build().toString());
+            if(response.getStatus() == 404){
+                response.consume();
+                return null;
+            }
+            try(InputStream inputStream = response.getContent()){
+                return inputStream == null ? "" : withoutFinalLineBreak(IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw handleException(e);
+        }
+    }
+
+    private static String withoutFinalLineBreak(String content){
+        if(content.endsWith("\r\n")){
+            return content.substring(0, content.length() - 2);
+        }
+        if(content.endsWith("\n")){
+            return content.substring(0, content.length() - 1);
+        }
+        return content;
+    }
+
+    /**
+     * Reads the file a page of lines at a time, asking for larger pages once the file is known to be long.
+     */
+    private String getBrowseContent(String projectKey, String repoSlug, String path, String commitId){
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        int limit = BROWSE_PAGE_SIZE;
+        while(true){
+            try {
+                InputStream inputStream = request.get(String.format("%s/%s/repos/%s/browse/%s?at=%s&start=%s&limit=%s",baseUrl+"projects",
+                        projectKey, repoSlug, path, commitId, start, limit)).getContent();
+
+                Map<String,Object> content = om.readValue(inputStream, new TypeReference<Map<String,Object>>(){});
+                List<Map<String, String>> lineMap = (List<Map<String, String>>) content.get("lines");
+                collectLines(lineMap, lines);
+                int size = (int) content.get("size");
+                if((boolean)content.get("isLastPage") || size == 0){
+                    return String.join("\n", lines);
+                }
+                start += size;
+                limit = BROWSE_MAX_PAGE_SIZE;
+            } catch (IOException e) {
+                throw handleException(e);
+            }
+        }
     }
 
     @Override
@@ -214,6 +357,7 @@ public class BitbucketServerApi extends BitbucketApi {
             //there might be 409 error if same content is submitted for save with a given commitId
             // we ignore error and return the response as if it was saved successfully
             if(commitId != null && response.getStatus() == 409){
+                response.consume();
                 return new BbServerSaveContentResponse(commitId);
             }
             InputStream inputStream = response.getContent();
@@ -233,6 +377,7 @@ public class BitbucketServerApi extends BitbucketApi {
                 uriBuilder.addParameter("at", "refs/heads/"+branch);
             }
             HttpResponse response = request.head(uriBuilder.build().toString());
+            response.consume();
             return response.getStatus() == 200;
         } catch (URISyntaxException e) {
             throw handleException(e);
@@ -284,6 +429,7 @@ public class BitbucketServerApi extends BitbucketApi {
             int status = response.getStatus();
             //With 5.6.0 its 204, before that it was 404
             if(status == 404 || status == 204){
+                response.consume();
                 return null; //empty repo gives 404, we ignore these
             }
             InputStream inputStream = response.getContent();
@@ -301,6 +447,7 @@ public class BitbucketServerApi extends BitbucketApi {
                     orgId, repoSlug));
 
             HttpResponse response = request.head(uriBuilder.build().toString());
+            response.consume();
             int status = response.getStatus();
             return status == 404 || status == 204; //with BB server 5.6.0 204 is returned for empty repo
         } catch (URISyntaxException e) {
@@ -308,23 +455,6 @@ public class BitbucketServerApi extends BitbucketApi {
         }
     }
 
-    private void getAndBuildContent(@Nonnull String projectKey, @Nonnull String repoSlug, @Nonnull String path, @Nonnull String commitId, int start, int limit, @Nonnull final List<String> lines){
-        try {
-            InputStream inputStream = request.get(String.format("%s/%s/repos/%s/browse/%s?at=%s&start=%s&limit=%s",baseUrl+"projects",
-                    projectKey, repoSlug, path, commitId, start, limit)).getContent();
-
-            Map<String,Object> content = om.readValue(inputStream, new TypeReference<Map<String,Object>>(){});
-            List<Map<String, String>> lineMap = (List<Map<String, String>>) content.get("lines");
-            collectLines(lineMap, lines);
-            int size = (int) content.get("size");
-            if(!(boolean)content.get("isLastPage")){
-                getAndBuildContent(projectKey, repoSlug, path, commitId, start+size, limit, lines);
-            }
-        } catch (IOException e) {
-            throw handleException(e);
-        }
-    }
-
     private void collectLines(List<Map<String,String>> lineMap, final List<String> lines){
 
         lines.addAll(lineMap.stream().map( input ->  {
@@ -362,6 +492,16 @@ public class BitbucketServerApi extends BitbucketApi {
         return new VersionNumber(version).isNewerThanOrEqualTo(MINIMUM_SUPPORTED_VERSION);
     }
 
+    @Extension
+    public static class EndpointConfigurationListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if(o instanceof BitbucketEndpointConfiguration){
+                invalidateVersions();
+            }
+        }
+    }
+
     @Extension
     public static class BitbucketServerApiFactory extends BitbucketApiFactory{
         @Override
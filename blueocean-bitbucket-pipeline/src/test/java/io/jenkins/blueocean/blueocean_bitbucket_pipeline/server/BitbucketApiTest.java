@@ -27,6 +27,12 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.UnsupportedEncodingException;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static org.junit.Assert.*;
 import static org.powermock.api.mockito.PowerMockito.when;
 
@@ -191,6 +197,64 @@ public class BitbucketApiTest extends BbServerWireMock {
         assertEquals(branch.getLatestCommit(), newBranch.getLatestCommit());
     }
 
+    @Test
+    public void getVersionIsCached(){
+        BitbucketServerApi.invalidateVersions();
+        String version = BitbucketServerApi.getVersion(apiUrl);
+        assertEquals(version, BitbucketServerApi.getVersion(apiUrl));
+        bitbucketApi.verify(1, getRequestedFor(urlEqualTo("/rest/api/1.0/application-properties")));
+
+        BitbucketServerApi.invalidateVersions();
+        assertEquals(version, BitbucketServerApi.getVersion(apiUrl));
+        bitbucketApi.verify(2, getRequestedFor(urlEqualTo("/rest/api/1.0/application-properties")));
+    }
+
+    @Test
+    public void getRawContentIsCachedByCommit(){
+        BitbucketServerApi.invalidateVersions();
+        String url = "/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/raw/Jenkinsfile?at=4d1d5d4a4ec26d5d1d3e9e11b0c3a01c4f1b4f5e";
+        bitbucketApi.stubFor(get(urlEqualTo(url)).willReturn(aResponse().withStatus(200).withBody("node {\n  echo 'raw'\n}\n")));
+
+        for(int i = 0; i < 2; i++){
+            String content = api.getContent("TESTP", "pipeline-demo-test", "Jenkinsfile", "4d1d5d4a4ec26d5d1d3e9e11b0c3a01c4f1b4f5e");
+            // as the browse endpoint would give it
+            assertEquals("node {\n  echo 'raw'\n}", content);
+        }
+        bitbucketApi.verify(1, getRequestedFor(urlEqualTo(url)));
+        bitbucketApi.verify(0, getRequestedFor(urlPathEqualTo("/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/browse/Jenkinsfile")));
+    }
+
+    @Test
+    public void getBrowseContentWithoutRawEndpoint(){
+        BitbucketServerApi.invalidateVersions();
+        String commitId = "9f2c7c1e5b0a4d3f8e6b1a2c3d4e5f60718293a4";
+        String raw = "/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/raw/Jenkinsfile?at=" + commitId;
+        String browse = "/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/browse/Jenkinsfile?at=" + commitId;
+        bitbucketApi.stubFor(get(urlEqualTo(raw)).willReturn(aResponse().withStatus(404)));
+        bitbucketApi.stubFor(get(urlEqualTo(browse + "&start=0&limit=500")).willReturn(aResponse().withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"lines\":[{\"text\":\"node {\"},{\"text\":\"  echo 'browse'\"}],\"start\":0,\"size\":2,\"isLastPage\":false}")));
+        bitbucketApi.stubFor(get(urlEqualTo(browse + "&start=2&limit=5000")).willReturn(aResponse().withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"lines\":[{\"text\":\"}\"}],\"start\":2,\"size\":1,\"isLastPage\":true}")));
+
+        String content = api.getContent("TESTP", "pipeline-demo-test", "Jenkinsfile", commitId);
+        assertEquals("node {\n  echo 'browse'\n}", content);
+        bitbucketApi.verify(1, getRequestedFor(urlEqualTo(raw)));
+        bitbucketApi.verify(1, getRequestedFor(urlEqualTo(browse + "&start=0&limit=500")));
+        bitbucketApi.verify(1, getRequestedFor(urlEqualTo(browse + "&start=2&limit=5000")));
+
+        // the server has no raw endpoint, so the next file is browsed right away
+        String other = "0a1b2c3d4e5f60718293a4b5c6d7e8f9a0b1c2d3";
+        String otherBrowse = "/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/browse/Jenkinsfile?at=" + other;
+        bitbucketApi.stubFor(get(urlEqualTo(otherBrowse + "&start=0&limit=500")).willReturn(aResponse().withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"lines\":[{\"text\":\"node {}\"}],\"start\":0,\"size\":1,\"isLastPage\":true}")));
+        assertEquals("node {}", api.getContent("TESTP", "pipeline-demo-test", "Jenkinsfile", other));
+        bitbucketApi.verify(0, getRequestedFor(urlPathEqualTo("/rest/api/1.0/projects/TESTP/repos/pipeline-demo-test/raw/Jenkinsfile")
+                .withQueryParam("at", equalTo(other))));
+    }
+
     private StandardUsernamePasswordCredentials getMockedCredentials(){
         final Secret secret = Mockito.mock(Secret.class);
         when(secret.getPlainText()).thenReturn(getPassword());
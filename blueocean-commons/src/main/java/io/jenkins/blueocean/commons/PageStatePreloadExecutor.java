@@ -0,0 +1,101 @@
+package io.jenkins.blueocean.commons;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Computes the state of the {@link PageStatePreloader}s of a page, one after the other in the request thread.
+ *
+ * The preloaders of a page share one deadline: a preloader that would start after the deadline is skipped, so its
+ * state is left out and the client fetches that data itself. A preloader that is running when the deadline passes is
+ * not interrupted.
+ */
+public final class PageStatePreloadExecutor {
+
+    /**
+     * Time given to the preloaders of a page, in milliseconds. Set to 0 to run every preloader. Default 3000.
+     */
+    static final long PRELOAD_TIMEOUT_MILLIS = Long.getLong("PAGE_STATE_PRELOAD_TIMEOUT_MILLIS", 3000);
+
+    private static final Logger LOGGER = Logger.getLogger(PageStatePreloadExecutor.class.getName());
+
+    /**
+     * State computed by a preloader, as set by the page.
+     */
+    public static final class PageState {
+        private final String preloader;
+        private final String statePropertyPath;
+        private final String stateJson;
+
+        PageState(String preloader, String statePropertyPath, String stateJson) {
+            this.preloader = preloader;
+            this.statePropertyPath = statePropertyPath;
+            this.stateJson = stateJson;
+        }
+
+        /**
+         * @return class name of the preloader
+         */
+        public String getPreloader() {
+            return preloader;
+        }
+
+        public String getStatePropertyPath() {
+            return statePropertyPath;
+        }
+
+        public String getStateJson() {
+            return stateJson;
+        }
+    }
+
+    /**
+     * Computes the state of the given preloaders, in the order of the preloaders. Preloaders that return no state, fail
+     * or would start after the deadline are left out.
+     */
+    @NonNull
+    public static List<PageState> preload(@NonNull List<? extends PageStatePreloader> preloaders) {
+        return preload(preloaders, PRELOAD_TIMEOUT_MILLIS);
+    }
+
+    static List<PageState> preload(List<? extends PageStatePreloader> preloaders, long timeoutMillis) {
+        long deadline = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+        List<PageState> states = new ArrayList<>(preloaders.size());
+        for (PageStatePreloader preloader : preloaders) {
+            if (deadline != 0 && System.nanoTime() - deadline > 0) {
+                LOGGER.info("Leaving out the page state of " + preloader.getClass().getName() + ", not started within "
+                                + timeoutMillis + "ms");
+                continue;
+            }
+            String stateJson = compute(preloader);
+            if (stateJson != null) {
+                states.add(new PageState(preloader.getClass().getName(), preloader.getStatePropertyPath(), stateJson));
+            }
+        }
+        return states;
+    }
+
+    @CheckForNull
+    private static String compute(PageStatePreloader preloader) {
+        long start = System.nanoTime();
+        try {
+            return preloader.getStateJson();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Leaving out the page state of " + preloader.getClass().getName(), e);
+            return null;
+        } finally {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine(preloader.getClass().getName() + " took "
+                                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+            }
+        }
+    }
+
+    private PageStatePreloadExecutor() {}
+}
@@ -0,0 +1,152 @@
+package io.jenkins.blueocean.commons.stapler;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.jenkins.blueocean.commons.DigestUtils;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON response serialized once, so that it can be kept in memory and sent again without serializing or compressing.
+ *
+ * Bodies worth compressing are kept with a gzip variant, sent to clients accepting it. Each variant has a strong ETag
+ * of its own, the gzip one being {@code "<hash>-gzip"}, as a strong tag names one sequence of bytes. A request whose
+ * If-None-Match holds either tag gets a 304.
+ */
+public final class CachedJsonResponse implements HttpResponse {
+
+    /** Bodies smaller than this are not worth compressing */
+    static final int GZIP_MIN_LENGTH = 512;
+
+    private final byte[] body;
+    @CheckForNull
+    private final byte[] gzipBody;
+    private final String etag;
+    @CheckForNull
+    private final String gzipEtag;
+
+    private CachedJsonResponse(byte[] body, @CheckForNull byte[] gzipBody, String hash) {
+        this.body = body;
+        this.gzipBody = gzipBody;
+        this.etag = '"' + hash + '"';
+        this.gzipEtag = gzipBody == null ? null : '"' + hash + "-gzip\"";
+    }
+
+    public static @NonNull CachedJsonResponse of(@NonNull String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new CachedJsonResponse(body, body.length < GZIP_MIN_LENGTH ? null : gzip(body), DigestUtils.sha256Hex(json));
+    }
+
+    public @NonNull byte[] getBody() {
+        return body;
+    }
+
+    public @CheckForNull byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    public @NonNull String getEtag() {
+        return etag;
+    }
+
+    public @CheckForNull String getGzipEtag() {
+        return gzipEtag;
+    }
+
+    /**
+     * @return bytes held in memory
+     */
+    public int weight() {
+        return body.length + (gzipBody != null ? gzipBody.length : 0);
+    }
+
+    /**
+     * Sends the ETag of the variant the client accepts, then either a 304 or that variant.
+     */
+    @Override
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException {
+        boolean gzip = gzipBody != null && acceptsGzip(req.getHeader("Accept-Encoding"));
+        rsp.setHeader("ETag", gzip ? gzipEtag : etag);
+        if (gzipBody != null) {
+            rsp.setHeader("Vary", "Accept-Encoding");
+        }
+        // either variant held by the client is still current
+        if (matches(req.getHeader("If-None-Match"), etag, gzipEtag)) {
+            rsp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        write(rsp, gzip);
+    }
+
+    /**
+     * Sends the variant the client accepts, without an ETag, for responses that are not meant to be revalidated.
+     */
+    public void writeBody(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        write(rsp, gzipBody != null && acceptsGzip(req.getHeader("Accept-Encoding")));
+    }
+
+    private void write(StaplerResponse rsp, boolean gzip) throws IOException {
+        rsp.setContentType("application/json; charset=UTF-8");
+        byte[] bytes = body;
+        if (gzip) {
+            bytes = gzipBody;
+            rsp.setHeader("Content-Encoding", "gzip");
+        }
+        rsp.setContentLength(bytes.length);
+        rsp.getOutputStream().write(bytes);
+    }
+
+    /**
+     * @return true if the If-None-Match header holds one of the given tags, compared weakly as the header asks for
+     */
+    static boolean matches(@CheckForNull String ifNoneMatch, String... etags) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            for (String etag : etags) {
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(@CheckForNull String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] tokens = coding.split(";");
+            if (tokens[0].trim().equalsIgnoreCase("gzip")) {
+                return tokens.length == 1 || !tokens[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected IO exception compressing to memory.", e);
+        }
+        return out.toByteArray();
+    }
+}
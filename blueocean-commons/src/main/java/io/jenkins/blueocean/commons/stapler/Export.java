@@ -28,12 +28,22 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.Iterator;
 
 public class Export {
 
     private static final Logger logger = LoggerFactory.getLogger(Export.class);
 
-    private static ModelBuilder MODEL_BUILDER = new ModelBuilder();
+    /**
+     * Shared by all entry points so that {@link Model}s are built once per class, {@link ModelBuilder} is thread safe.
+     */
+    private static final ModelBuilder MODEL_BUILDER = new ModelBuilder();
+
+    /**
+     * Number of items written between two flushes of a streamed array, the first item is always flushed. Default 16.
+     */
+    static final int STREAM_FLUSH_INTERVAL = Math.max(1, Integer.getInteger("EXPORT_STREAM_FLUSH_INTERVAL", 16));
 
     /**
      * Serialize the supplied object to JSON and return as a {@link String}.
@@ -82,7 +92,7 @@ public class Export {
      */
     @SuppressWarnings("unchecked")
     public static void toJson(@NonNull Object object, @NonNull Writer writer, boolean htmlEncoded) throws IOException {
-        Model model = new ModelBuilder().get(object.getClass());
+        Model model = MODEL_BUILDER.get(object.getClass());
         ExportConfig exportConfig = createExportConfig();
         if (htmlEncoded) {
             exportConfig.withHtmlEncode(true);
@@ -91,6 +101,34 @@ public class Export {
         writer.flush();
     }
 
+    /**
+     * Serialize the items of the supplied {@link Iterator} as a JSON array and write to the supplied {@link Writer}.
+     * Items are pulled and written one at a time, so a failure of the iterator leaves the array truncated: write to a
+     * buffer, not to a response.
+     * @param items The items to serialize.
+     * @param writer The writer to output to.
+     * @throws IOException Error serializing model object.
+     */
+    public static void toJsonStream(@NonNull Iterator<?> items, @NonNull Writer writer) throws IOException {
+        ExportConfig exportConfig = createExportConfig();
+        writeStream(new ByDepth(1), Flavor.JSON.createDataWriter(items, writer, exportConfig), writer, items);
+        writer.flush();
+    }
+
+    /**
+     * Serialize the supplied bean to JSON and write to the supplied {@link Writer}, as
+     * {@link #doJson(StaplerRequest, StaplerResponse, Object)} serves it to a request without <code>tree</code>,
+     * <code>depth</code>, <code>pretty</code> or <code>jsonp</code> parameter. Arrays are written as JSON arrays.
+     * @param bean The object to serialize.
+     * @param writer The writer to output to.
+     * @throws IOException Error serializing model object.
+     */
+    public static void toJsonResponse(@NonNull Object bean, @NonNull Writer writer) throws IOException {
+        ExportConfig exportConfig = createExportConfig().withSkipIfFail(true);
+        writeBean(new ByDepth(1), Flavor.JSON.createDataWriter(bean, writer, exportConfig), writer, bean);
+        writer.flush();
+    }
+
     /**
      * @param req request
      * @param rsp response
@@ -139,7 +177,7 @@ public class Export {
         String tree = req.getParameter("tree");
         if (tree != null) {
             try {
-                pruner = new NamedPathPruner(tree);
+                pruner = NamedPathPruner.of(tree);
             } catch (IllegalArgumentException x) {
                 throw new ServletException("Malformed tree expression: " + x, x);
             }
@@ -156,20 +194,29 @@ public class Export {
             pruner = new ByDepth(1 - depth);
         }
 
-        DataWriter dw = flavor.createDataWriter(exposedBean, w, config);
-        if (exposedBean instanceof Object[]) {
+        writeBean(pruner, flavor.createDataWriter(exposedBean, w, config), w, exposedBean);
+
+        if(pad!=null) w.write(')');
+        w.close();
+    }
+
+    private static void writeBean(TreePruner pruner, DataWriter dw, Writer w, Object bean) throws IOException {
+        if (bean instanceof Object[]) {
             // TODO: extend the contract of DataWriter to capture this
             // TODO: make this work with XML flavor (or at least reject this better)
             dw.startArray();
-            for (Object item : (Object[])exposedBean)
+            for (Object item : (Object[])bean)
                 writeOne(pruner, dw, item);
             dw.endArray();
+        } else if (bean instanceof Iterator) {
+            // pull the first item before the first byte, so that an iterator that cannot start gets an error response
+            Iterator<?> items = (Iterator<?>) bean;
+            Iterator<?> head = items.hasNext() ? Collections.singletonList(items.next()).iterator()
+                : Collections.emptyIterator();
+            writeStream(pruner, dw, w, head, items);
         } else {
-            writeOne(pruner, dw, exposedBean);
+            writeOne(pruner, dw, bean);
         }
-
-        if(pad!=null) w.write(')');
-        w.close();
     }
 
     private static void writeOne(TreePruner pruner, DataWriter dw, Object item) throws IOException {
@@ -177,6 +224,24 @@ public class Export {
         p.writeTo(item, pruner, dw);
     }
 
+    /**
+     * Writes the items as an array, pulling each one only when it is written, and flushing after the first item and
+     * then every {@link #STREAM_FLUSH_INTERVAL} items.
+     */
+    private static void writeStream(TreePruner pruner, DataWriter dw, Writer w, Iterator<?>... items) throws IOException {
+        dw.startArray();
+        int written = 0;
+        for (Iterator<?> it : items) {
+            while (it.hasNext()) {
+                writeOne(pruner, dw, it.next());
+                if (written++ % STREAM_FLUSH_INTERVAL == 0) {
+                    w.flush();
+                }
+            }
+        }
+        dw.endArray();
+    }
+
     private Export() {}
 
     private static class BlueOceanExportInterceptor extends ExportInterceptor{
@@ -31,4 +31,9 @@ class FilteringTreePruner extends TreePruner {
 
         return child;
     }
+
+    @Override
+    Property[] project(Model<?> model, Property[] properties) {
+        return base.project(model, properties);
+    }
 }
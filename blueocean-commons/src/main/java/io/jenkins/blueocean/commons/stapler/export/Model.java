@@ -38,8 +38,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -72,6 +74,11 @@ public class Model<T> {
 
     private final Set<String> propertyNames = new HashSet<>();
 
+    /**
+     * Properties selected by each {@link NamedPathPruner} specification, dropped with the specification.
+     */
+    /*package*/ final Map<NamedPathPruner.Tree,Property[]> projections = Collections.synchronizedMap(new WeakHashMap<>());
+
     /*package*/ Model(ModelBuilder parent, Class<T> type, @CheckForNull Class<?> propertyOwner, @Nullable String property) throws NotExportableException {
         this.parent = parent;
         this.type = type;
@@ -216,7 +223,7 @@ public class Model<T> {
             superModel.writeNestedObjectTo(object, new FilteringTreePruner(HAS_PROPERTY_NAME,pruner), writer);
         }
 
-        for (Property p : properties) {
+        for (Property p : pruner.project(this, properties)) {
             p.writeTo(object, pruner, writer);
         }
     }
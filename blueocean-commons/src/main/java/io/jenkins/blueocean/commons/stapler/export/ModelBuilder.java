@@ -29,6 +29,7 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 import org.kohsuke.stapler.export.ExportedBean;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -44,6 +45,12 @@ public class ModelBuilder {
      */
     /*package*/ final Map<Class, Model> models = new ConcurrentHashMap<>();
 
+    /**
+     * Classes known not to be {@link ExportedBean exposed beans}, so that values such as strings and numbers
+     * don't pay for an annotation lookup every time they are written.
+     */
+    private final Set<Class> notExportable = ConcurrentHashMap.newKeySet();
+
     @NonNull
     public <T> Model<T> get(Class<T> type) throws NotExportableException {
         return get(type, null, null);
@@ -71,8 +78,12 @@ public class ModelBuilder {
     @CheckForNull
     public <T> Model<T> getOrNull(Class<T> type, @CheckForNull Class<?> propertyOwner, @Nullable String property) {
         Model<T> m = models.get(type);
-        if(m==null && type.getAnnotation(ExportedBean.class) != null) {
-            m = new Model<>(this, type, propertyOwner, property);
+        if(m==null && !notExportable.contains(type)) {
+            if (type.getAnnotation(ExportedBean.class) != null) {
+                m = new Model<>(this, type, propertyOwner, property);
+            } else {
+                notExportable.add(type);
+            }
         }
         return m;
     }
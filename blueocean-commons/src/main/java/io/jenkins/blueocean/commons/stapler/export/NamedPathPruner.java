@@ -23,6 +23,9 @@
 
 package io.jenkins.blueocean.commons.stapler.export;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.regex.Pattern;
@@ -32,9 +35,43 @@ import java.util.regex.Pattern;
  */
 public final class NamedPathPruner extends TreePruner {
 
+    /**
+     * Maximum number of parsed specifications kept by {@link #of(String)}. Default 256.
+     */
+    static final int CACHE_MAX_SIZE = Integer.getInteger("NAMED_PATH_PRUNER_CACHE_MAX_SIZE", 256);
+
+    private static final Map<String,Tree> TREES = Collections.synchronizedMap(new LinkedHashMap<String,Tree>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String,Tree> eldest) {
+            return size() > CACHE_MAX_SIZE;
+        }
+    });
+
+    /**
+     * Parsed specification, never modified once parsed so that it can be shared between requests.
+     */
     static class Tree {
         final Map<String,Tree> children = new TreeMap<>();
         Range range = Range.ALL;
+        private volatile NamedPathPruner pruner;
+
+        NamedPathPruner pruner() {
+            NamedPathPruner p = pruner;
+            if (p == null) {
+                pruner = p = new NamedPathPruner(this);
+            }
+            return p;
+        }
+
+        Property[] project(Model<?> model, Property[] properties) {
+            if (children.containsKey("*")) {
+                return properties;
+            }
+            return model.projections.computeIfAbsent(this, t -> Arrays.stream(properties)
+                    .filter(p -> p.merge || children.containsKey(p.name))
+                    .toArray(Property[]::new));
+        }
+
         public @Override String toString() {return children.toString();}
     }
 
@@ -174,13 +211,34 @@ public final class NamedPathPruner extends TreePruner {
         this.tree = tree;
     }
 
+    /**
+     * Same as {@link #NamedPathPruner(String)}, except that the parsed specification is cached and shared, so that
+     * repeated specifications are parsed once and keep the properties they select for each {@link Model}.
+     * @param spec textual specification of tree
+     * @return pruner for the specification
+     * @throws IllegalArgumentException if the syntax is incorrect
+     */
+    public static NamedPathPruner of(String spec) throws IllegalArgumentException {
+        Tree tree = TREES.get(spec);
+        if (tree == null) {
+            tree = parse(spec);
+            TREES.put(spec, tree);
+        }
+        return tree.pruner();
+    }
+
     public @Override
     TreePruner accept(Object node, Property prop) {
         if (prop.merge)     return this;
 
         Tree subtree = tree.children.get(prop.name);
         if (subtree==null)  subtree=tree.children.get("*");
-        return subtree != null ? new NamedPathPruner(subtree) : null;
+        return subtree != null ? subtree.pruner() : null;
+    }
+
+    @Override
+    Property[] project(Model<?> model, Property[] properties) {
+        return tree.project(model, properties);
     }
 
     public @Override
@@ -43,6 +43,14 @@ public abstract class TreePruner {
         return Range.ALL;
     }
 
+    /**
+     * Narrows down the properties of a model to those this pruner may accept, so that the others are not even
+     * offered to {@link #accept(Object, Property)}. The result must keep every property that could be accepted.
+     */
+    Property[] project(Model<?> model, Property[] properties) {
+        return properties;
+    }
+
     public static class ByDepth extends TreePruner {
         final int n;
         private ByDepth next;
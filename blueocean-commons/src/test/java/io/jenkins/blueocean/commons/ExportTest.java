@@ -1,6 +1,7 @@
 package io.jenkins.blueocean.commons;
 
 import io.jenkins.blueocean.commons.stapler.Export;
+import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
@@ -8,6 +9,10 @@ import org.kohsuke.stapler.export.Exported;
 import org.kohsuke.stapler.export.ExportedBean;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 
 public class ExportTest {
     @Test
@@ -19,6 +24,69 @@ public class ExportTest {
         Assert.assertEquals("xVal", jsonObj.getString("val"));
     }
 
+    @Test
+    public void test_json_stream() throws IOException {
+        StringWriter writer = new StringWriter();
+        Iterator<X> items = Arrays.asList(new X(), new X(), new X()).iterator();
+        Export.toJsonStream(items, writer);
+        JSONArray jsonArray = JSONArray.fromObject(writer.toString());
+
+        Assert.assertEquals(3, jsonArray.size());
+        Assert.assertEquals("xVal", jsonArray.getJSONObject(2).getString("val"));
+        Assert.assertFalse(items.hasNext());
+
+        writer = new StringWriter();
+        Export.toJsonStream(Collections.emptyIterator(), writer);
+        Assert.assertEquals("[]", writer.toString());
+    }
+
+    @Test
+    public void test_json_response_of_failing_iterator_writes_nothing() throws IOException {
+        StringWriter writer = new StringWriter();
+        Iterator<X> items = new Iterator<X>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public X next() {
+                throw new IllegalStateException("failing");
+            }
+        };
+        try {
+            Export.toJsonResponse(items, writer);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("", writer.toString());
+        }
+    }
+
+    @Test
+    public void test_json_response_of_iterator_is_streamed() throws IOException {
+        StringWriter writer = new StringWriter();
+        Iterator<X> items = new Iterator<X>() {
+            private int pulled;
+
+            @Override
+            public boolean hasNext() {
+                return pulled < 3;
+            }
+
+            @Override
+            public X next() {
+                // every item but the first is pulled once the items before it are written
+                if (pulled > 0) {
+                    Assert.assertEquals(pulled, JSONArray.fromObject(writer.toString() + "]").size());
+                }
+                pulled++;
+                return new X();
+            }
+        };
+        Export.toJsonResponse(items, writer);
+        Assert.assertEquals(3, JSONArray.fromObject(writer.toString()).size());
+    }
+
     @ExportedBean
     public static class X {
         @Exported
@@ -0,0 +1,80 @@
+package io.jenkins.blueocean.commons;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PageStatePreloadExecutorTest {
+
+    @Test
+    public void statesKeepPreloaderOrderAndLeaveOutFailingOnes() {
+        List<PageStatePreloadExecutor.PageState> states = PageStatePreloadExecutor.preload(
+            Arrays.asList(new Preloader("a", 0),
+                          new Failing(),
+                          new Preloader("b", 0),
+                          new Preloader(null, 0)),
+            1000);
+
+        assertEquals(Arrays.asList("a", "b"),
+                     states.stream().map(PageStatePreloadExecutor.PageState::getStatePropertyPath).collect(Collectors.toList()));
+        assertEquals("{\"path\":\"b\"}", states.get(1).getStateJson());
+        assertEquals(Preloader.class.getName(), states.get(1).getPreloader());
+    }
+
+    @Test
+    public void preloadersAfterDeadlineAreSkipped() {
+        Preloader late = new Preloader("late", 0);
+        List<PageStatePreloadExecutor.PageState> states = PageStatePreloadExecutor.preload(
+            Arrays.asList(new Preloader("first", 300), late),
+            100);
+
+        assertEquals(Arrays.asList("first"),
+                     states.stream().map(PageStatePreloadExecutor.PageState::getStatePropertyPath).collect(Collectors.toList()));
+        assertEquals(0, late.calls);
+    }
+
+    private static class Preloader extends PageStatePreloader {
+        private final String path;
+        private final long sleepMillis;
+        private int calls;
+
+        /**
+         * @param path state property path, null for a preloader without state
+         */
+        Preloader(String path, long sleepMillis) {
+            this.path = path;
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        public String getStatePropertyPath() {
+            return path == null ? "none" : path;
+        }
+
+        @Override
+        public String getStateJson() {
+            calls++;
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                return null;
+            }
+            return path == null ? null : "{\"path\":\"" + path + "\"}";
+        }
+    }
+
+    private static class Failing extends Preloader {
+        Failing() {
+            super("failing", 0);
+        }
+
+        @Override
+        public String getStateJson() {
+            throw new IllegalStateException("failing");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.jenkins.blueocean.commons.benchmark;
+
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Exported beans shaped like the pipeline and run models of the REST API, which are not visible from this module.
+ */
+public final class BenchmarkModels {
+
+    public enum Result {SUCCESS, UNSTABLE, FAILURE, NOT_BUILT, UNKNOWN, ABORTED}
+
+    public enum State {QUEUED, RUNNING, PAUSED, SKIPPED, NOT_BUILT, FINISHED}
+
+    @ExportedBean
+    public static class Link {
+        private final String href;
+
+        Link(String href) {
+            this.href = href;
+        }
+
+        @Exported
+        public String getHref() {
+            return href;
+        }
+    }
+
+    @ExportedBean
+    public static class Pipeline {
+        private final String name;
+        private final List<Run> runs;
+
+        Pipeline(String name, List<Run> runs) {
+            this.name = name;
+            this.runs = runs;
+        }
+
+        @Exported
+        public String getName() {
+            return name;
+        }
+
+        @Exported
+        public String getFullName() {
+            return "folder/" + name;
+        }
+
+        @Exported
+        public String getDisplayName() {
+            return name;
+        }
+
+        @Exported
+        public String getOrganization() {
+            return "jenkins";
+        }
+
+        @Exported
+        public Integer getWeatherScore() {
+            return 80;
+        }
+
+        @Exported
+        public int getNumberOfRuns() {
+            return runs.size();
+        }
+
+        @Exported
+        public boolean isDisabled() {
+            return false;
+        }
+
+        @Exported
+        public Long getEstimatedDurationInMillis() {
+            return 120_000L;
+        }
+
+        @Exported
+        public List<String> getPermissions() {
+            return Arrays.asList("create", "read", "start", "stop", "configure");
+        }
+
+        @Exported(inline = true)
+        public Run getLatestRun() {
+            return runs.isEmpty() ? null : runs.get(0);
+        }
+
+        @Exported(inline = true)
+        public List<Run> getRuns() {
+            return runs;
+        }
+
+        @Exported(name = "_links")
+        public List<Link> getLinks() {
+            return Arrays.asList(new Link("/blue/rest/organizations/jenkins/pipelines/" + name + "/"),
+                                 new Link("/blue/rest/organizations/jenkins/pipelines/" + name + "/runs/"));
+        }
+    }
+
+    @ExportedBean
+    public static class Run {
+        private final int id;
+
+        Run(int id) {
+            this.id = id;
+        }
+
+        @Exported
+        public String getId() {
+            return Integer.toString(id);
+        }
+
+        @Exported
+        public String getPipeline() {
+            return "pipeline";
+        }
+
+        @Exported
+        public String getOrganization() {
+            return "jenkins";
+        }
+
+        @Exported
+        public String getStartTime() {
+            return "2020-01-01T00:00:00.000+0000";
+        }
+
+        @Exported
+        public String getEndTime() {
+            return "2020-01-01T00:02:00.000+0000";
+        }
+
+        @Exported
+        public Long getDurationInMillis() {
+            return 120_000L + id;
+        }
+
+        @Exported
+        public Result getResult() {
+            return id % 7 == 0 ? Result.FAILURE : Result.SUCCESS;
+        }
+
+        @Exported
+        public State getState() {
+            return State.FINISHED;
+        }
+
+        @Exported
+        public boolean isReplayable() {
+            return true;
+        }
+
+        @Exported
+        public String getRunSummary() {
+            return "stable";
+        }
+
+        @Exported
+        public String getCommitId() {
+            return Integer.toHexString(id * 31) + "cafebabe";
+        }
+
+        @Exported
+        public List<String> getCauses() {
+            return Arrays.asList("Started by user admin");
+        }
+
+        @Exported(name = "_links")
+        public List<Link> getLinks() {
+            return Arrays.asList(new Link("/blue/rest/organizations/jenkins/pipelines/pipeline/runs/" + id + "/"),
+                                 new Link("/blue/rest/organizations/jenkins/pipelines/pipeline/runs/" + id + "/nodes/"),
+                                 new Link("/blue/rest/organizations/jenkins/pipelines/pipeline/runs/" + id + "/log/"));
+        }
+    }
+
+    /**
+     * @param runs number of runs of the pipeline
+     */
+    public static Pipeline pipeline(int runs) {
+        List<Run> list = new ArrayList<>(runs);
+        for (int i = runs; i > 0; i--) {
+            list.add(new Run(i));
+        }
+        return new Pipeline("pipeline", list);
+    }
+
+    /**
+     * Runs created one by one as they are iterated, like a lazily loaded run list.
+     *
+     * @param runs number of runs
+     */
+    public static Iterator<Run> runs(int runs) {
+        return new Iterator<Run>() {
+            private int next = runs;
+
+            @Override
+            public boolean hasNext() {
+                return next > 0;
+            }
+
+            @Override
+            public Run next() {
+                if (next <= 0) {
+                    throw new NoSuchElementException();
+                }
+                return new Run(next--);
+            }
+        };
+    }
+
+    private BenchmarkModels() {}
+}
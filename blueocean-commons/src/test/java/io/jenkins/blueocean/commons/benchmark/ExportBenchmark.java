@@ -0,0 +1,43 @@
+package io.jenkins.blueocean.commons.benchmark;
+
+import io.jenkins.blueocean.commons.stapler.Export;
+import io.jenkins.blueocean.commons.stapler.export.ExportConfig;
+import io.jenkins.blueocean.commons.stapler.export.Flavor;
+import io.jenkins.blueocean.commons.stapler.export.ModelBuilder;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Serialization of a pipeline with its runs, building the models on every call versus reusing the shared models of
+ * {@link Export}.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    private BenchmarkModels.Pipeline pipeline;
+
+    @Setup
+    public void setup() {
+        pipeline = BenchmarkModels.pipeline(26);
+    }
+
+    @Benchmark
+    public String cold() throws IOException {
+        StringWriter writer = new StringWriter();
+        new ModelBuilder().get(BenchmarkModels.Pipeline.class)
+            .writeTo(pipeline, Flavor.JSON.createDataWriter(pipeline, writer, new ExportConfig()));
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String warm() throws IOException {
+        return Export.toJson(pipeline);
+    }
+}
@@ -0,0 +1,105 @@
+package io.jenkins.blueocean.commons.benchmark;
+
+import io.jenkins.blueocean.commons.stapler.Export;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Listing of 10k runs written by {@link Export#toJsonResponse(Object, Writer)}, which goes through the same code as a
+ * paged REST response: the page collected into an array before writing it versus the page iterator streamed.
+ *
+ * The <code>firstByte</code> benchmarks stop at the first byte of the first run, which is the time to first byte of
+ * the response. Run with the <code>gc</code> profiler to compare allocations, the collected page keeps every run
+ * reachable until the response is written.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class StreamingExportBenchmark {
+
+    private static final int RUNS = 10_000;
+
+    @Benchmark
+    public long collected() throws IOException {
+        CountingWriter writer = new CountingWriter(false);
+        Export.toJsonResponse(collect(BenchmarkModels.runs(RUNS)), writer);
+        return writer.count;
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        CountingWriter writer = new CountingWriter(false);
+        Export.toJsonResponse(BenchmarkModels.runs(RUNS), writer);
+        return writer.count;
+    }
+
+    @Benchmark
+    public long collectedFirstByte() throws IOException {
+        CountingWriter writer = new CountingWriter(true);
+        try {
+            Export.toJsonResponse(collect(BenchmarkModels.runs(RUNS)), writer);
+        } catch (FirstByte e) {
+            // expected
+        }
+        return writer.count;
+    }
+
+    @Benchmark
+    public long streamedFirstByte() throws IOException {
+        CountingWriter writer = new CountingWriter(true);
+        try {
+            Export.toJsonResponse(BenchmarkModels.runs(RUNS), writer);
+        } catch (FirstByte e) {
+            // expected
+        }
+        return writer.count;
+    }
+
+    private static Object[] collect(Iterator<?> items) {
+        List<Object> page = new ArrayList<>();
+        items.forEachRemaining(page::add);
+        return page.toArray();
+    }
+
+    /** Discards what is written, optionally stopping at the first character after the opening bracket */
+    private static final class CountingWriter extends Writer {
+        private final boolean stopAtFirstByte;
+        private long count;
+
+        private CountingWriter(boolean stopAtFirstByte) {
+            this.stopAtFirstByte = stopAtFirstByte;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            count += len;
+            if (stopAtFirstByte && count > 1) {
+                throw FirstByte.INSTANCE;
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class FirstByte extends IOException {
+        private static final FirstByte INSTANCE = new FirstByte();
+
+        private FirstByte() {
+            super("first byte written", null);
+            setStackTrace(new StackTraceElement[0]);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.jenkins.blueocean.commons.stapler;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+public class CachedJsonResponseTest {
+
+    @Test
+    public void variants() throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",").append("\"key.").append(i).append("\":\"Value number ").append(i).append('"');
+        }
+        CachedJsonResponse response = CachedJsonResponse.of(json.append('}').toString());
+
+        Assert.assertArrayEquals(json.toString().getBytes(StandardCharsets.UTF_8), response.getBody());
+        Assert.assertNotNull(response.getGzipBody());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getGzipBody()))) {
+            Assert.assertArrayEquals(response.getBody(), IOUtils.toByteArray(in));
+        }
+        Assert.assertTrue(response.getEtag().startsWith("\"") && response.getEtag().endsWith("\""));
+        Assert.assertEquals(response.getEtag().substring(0, response.getEtag().length() - 1) + "-gzip\"", response.getGzipEtag());
+        Assert.assertEquals(response.getBody().length + response.getGzipBody().length, response.weight());
+
+        CachedJsonResponse small = CachedJsonResponse.of("{\"status\":\"error\"}");
+        Assert.assertNull(small.getGzipBody());
+        Assert.assertNull(small.getGzipEtag());
+        Assert.assertEquals(small.getBody().length, small.weight());
+    }
+
+    @Test
+    public void headers() {
+        Assert.assertTrue(CachedJsonResponse.matches("\"abc\"", "\"abc\""));
+        Assert.assertTrue(CachedJsonResponse.matches("\"xyz\", \"abc\"", "\"abc\""));
+        Assert.assertTrue(CachedJsonResponse.matches("*", "\"abc\""));
+        Assert.assertFalse(CachedJsonResponse.matches("\"xyz\"", "\"abc\""));
+        Assert.assertFalse(CachedJsonResponse.matches(null, "\"abc\""));
+        Assert.assertTrue(CachedJsonResponse.matches("W/\"abc\"", "\"abc\""));
+        Assert.assertTrue(CachedJsonResponse.matches("\"abc-gzip\"", "\"abc\"", "\"abc-gzip\""));
+        Assert.assertFalse(CachedJsonResponse.matches("\"abc-gzip\"", "\"abc\"", null));
+
+        Assert.assertTrue(CachedJsonResponse.acceptsGzip("gzip, deflate, br"));
+        Assert.assertTrue(CachedJsonResponse.acceptsGzip("deflate, GZIP;q=0.5"));
+        Assert.assertFalse(CachedJsonResponse.acceptsGzip("gzip;q=0"));
+        Assert.assertFalse(CachedJsonResponse.acceptsGzip("identity"));
+        Assert.assertFalse(CachedJsonResponse.acceptsGzip(null));
+    }
+}
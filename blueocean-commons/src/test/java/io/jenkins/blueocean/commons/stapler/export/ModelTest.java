@@ -36,6 +36,8 @@ import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class ModelTest {
     private ExportConfig config = new ExportConfig().withFlavor(Flavor.JSON).withClassAttribute(ClassAttributeBehaviour.ALWAYS.simple());
@@ -47,6 +49,13 @@ public class ModelTest {
         assertEquals("Redundant properties discovered: " + model.getProperties(), 1, model.getProperties().size());
     }
 
+    @Test
+    public void modelsAreBuiltOnce() {
+        assertSame(builder.get(B.class), builder.get(B.class));
+        assertNull(builder.getOrNull(String.class, null, null));
+        assertNull(builder.getOrNull(String.class, null, null));
+    }
+
     public static interface GenericInterface<T extends Number> {
         Collection<T> get();
     }
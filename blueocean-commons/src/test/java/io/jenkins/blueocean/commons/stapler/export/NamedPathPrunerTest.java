@@ -67,6 +67,35 @@ public class NamedPathPrunerTest extends TestCase {
         assertResult("{_class:Vhew,jobs:[{name:job97},{name:job98},{name:job99}]}", v, "jobs[name]{97,}");
     }
 
+    public void testCachedSpec() throws Exception {
+        NamedPathPruner pruner = NamedPathPruner.of("jobs[name],views[name]");
+        assertSame(pruner, NamedPathPruner.of("jobs[name],views[name]"));
+        assertSame(pruner.accept(null, jobsProperty()), pruner.accept(null, jobsProperty()));
+
+        Jhob job1 = new Jhob("job1", "Job #1", "whatever");
+        Vhew view1 = new Vhew("All", "crap", new Jhob[] {job1});
+        Stuff bean = new Stuff(new Jhob[] {job1}, Arrays.asList(view1));
+        for (int i = 0; i < 2; i++) {
+            StringWriter w = new StringWriter();
+            new ModelBuilder().get(Stuff.class).writeTo(bean, pruner, Flavor.JSON.createDataWriter(bean, w, config));
+            assertEquals("{_class:Stuff,jobs:[{name:job1}],views:[{name:All}]}", w.toString().replace("\\\"", "").replace("\"", ""));
+        }
+
+        Model<Vhew> model = new ModelBuilder().get(Vhew.class);
+        Property[] projected = NamedPathPruner.of("name,jobs").project(model, model.getProperties().toArray(new Property[0]));
+        assertEquals(2, projected.length);
+        assertEquals(3, NamedPathPruner.of("*").project(model, model.getProperties().toArray(new Property[0])).length);
+    }
+
+    private static Property jobsProperty() {
+        for (Property p : new ModelBuilder().get(Stuff.class).getProperties()) {
+            if (p.name.equals("jobs")) {
+                return p;
+            }
+        }
+        throw new AssertionError();
+    }
+
     @ExportedBean
     public static class Stuff {
         @Exported
@@ -57,7 +57,7 @@ import org.jenkinsci.plugins.gitclient.GitClient;
 import org.jenkinsci.plugins.gitclient.RepositoryCallback;
 
 /**
- * Uses the SCM Git cache operating on the bare repository to load/save content
+ * Uses a long-lived bare mirror of the repository from {@link GitMirrorPool} to load/save content
  * "as efficiently as possible"
  * @author kzantow
  */
@@ -65,7 +65,7 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
     private static final String LOCAL_REF_BASE = "refs/remotes/origin/";
     private static final String REMOTE_REF_BASE = "refs/heads/";
 
-    private final File repositoryPath;
+    private File repositoryPath;
     private final GitTool gitTool;
 
     GitBareRepoReadSaveRequest(AbstractGitSCMSource gitSource, String branch, String commitMessage, String sourceBranch, String filePath, byte[] contents) {
@@ -86,22 +86,17 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
         }
 
         this.gitTool = foundGitTool;
-        try {
-            repositoryPath = Files.createTempDirectory( "git").toFile();
-        } catch (IOException e) {
-            throw new ServiceException.UnexpectedErrorException("Unable to create working directory for repository clone");
-        }
     }
 
     @Override
     byte[] read() throws IOException {
-        return invokeOnScm(new GitSCMFileSystem.FSFunction<byte[]>() {
+        final StandardCredentials credential = getCredential();
+        // the mirror is brought up-to-date by the pool
+        return invokeOnMirror(credential, new GitSCMFileSystem.FSFunction<byte[]>() {
             @Override
             public byte[] invoke(Repository repo) throws IOException, InterruptedException {
                 // Make sure credentials work
-                GitUtils.validatePushAccess(repo, gitSource.getRemote(), getCredential());
-                // Make sure up-to-date
-                GitUtils.fetch(repo, getCredential());
+                GitMirrorPool.validatePushAccess(repo, gitSource.getRemote(), credential);
                 return GitUtils.readFile(repo, LOCAL_REF_BASE + branch, filePath);
             }
         });
@@ -109,11 +104,15 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
 
     @Override
     void save() throws IOException {
-        invokeOnScm(new GitSCMFileSystem.FSFunction<Void>() {
+        final StandardCredentials credential = getCredential();
+        invokeOnMirror(credential, new GitSCMFileSystem.FSFunction<Void>() {
             @Override
             public Void invoke(Repository repo) throws IOException {
                 String localBranchRef = LOCAL_REF_BASE + sourceBranch;
 
+                // Make sure up-to-date and credentials work
+                GitUtils.fetch(repo, credential);
+
                 ObjectId branchHead = repo.resolve(localBranchRef);
 
                 try {
@@ -128,16 +127,13 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
                         mailAddress = user.getId() + "@email-address-not-set";
                     }
 
-                    StandardCredentials credential = getCredential();
-
-                    // Make sure up-to-date and credentials work
-                    GitUtils.fetch(repo, credential);
-
                     GitUtils.commit(repo, localBranchRef, filePath, contents, user.getId(), mailAddress, commitMessage, TimeZone.getDefault(), new Date());
 
                     GitUtils.push(gitSource.getRemote(), repo, credential, localBranchRef, REMOTE_REF_BASE + branch);
                     return null;
                 } finally {
+                    // the pushed commit is only seen locally once fetched
+                    GitMirrorPool.invalidate(gitSource.getRemote());
                     // always roll back to undo our local changes
                     try {
                         if (branchHead != null) { // branchHead may be null if this was an empty repo
@@ -153,6 +149,14 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
         });
     }
 
+    <T> T invokeOnMirror(StandardCredentials credential, final GitSCMFileSystem.FSFunction<T> function) throws IOException {
+        try {
+            return GitMirrorPool.invoke(gitSource.getRemote(), credential, function);
+        } catch (InterruptedException ex) {
+            throw new ServiceException.UnexpectedErrorException("Unable to access " + filePath, ex);
+        }
+    }
+
     <T> T invokeOnScm(final GitSCMFileSystem.FSFunction<T> function) throws IOException {
         try {
             GitSCMFileSystem fs = getFilesystem();
@@ -191,6 +195,11 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
         EnvVars environment = new EnvVars();
         TaskListener taskListener = new LogTaskListener( Logger.getAnonymousLogger(), Level.ALL);
         String gitExe = gitTool.getGitExe();
+        try {
+            repositoryPath = Files.createTempDirectory( "git").toFile();
+        } catch (IOException e) {
+            throw new ServiceException.UnexpectedErrorException("Unable to create working directory for repository clone");
+        }
         GitClient git = org.jenkinsci.plugins.gitclient.Git.with( taskListener, environment)
             .in(repositoryPath)
             .using(gitExe)
@@ -231,6 +240,9 @@ class GitBareRepoReadSaveRequest extends GitReadSaveRequest {
     }
 
     void cleanupRepo() {
+        if (repositoryPath == null) {
+            return;
+        }
         try {
             FileUtils.deleteDirectory( repositoryPath);
         } catch (IOException e) {
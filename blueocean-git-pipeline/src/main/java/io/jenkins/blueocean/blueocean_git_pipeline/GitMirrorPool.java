@@ -0,0 +1,319 @@
+package io.jenkins.blueocean.blueocean_git_pipeline;
+
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.model.User;
+import io.jenkins.blueocean.commons.DigestUtils;
+import jenkins.model.Jenkins;
+import jenkins.plugins.git.GitSCMFileSystem;
+import jenkins.util.Timer;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long-lived bare mirrors of the repositories edited with {@link GitBareRepoReadSaveRequest}, kept in
+ * {@value #MIRRORS_DIR} under <code>JENKINS_HOME</code> and keyed by remote URL.
+ *
+ * A mirror fetched less than {@link #FETCH_INTERVAL_MILLIS} ago is read as is and refreshed in the background, an
+ * older one is fetched incrementally first. Access to a mirror is serialized with a lock per mirror directory. Successful
+ * push access checks are remembered per remote and credential for {@link #PUSH_ACCESS_TTL_SECONDS}.
+ *
+ * At most {@link #MIRROR_CACHE_MAX_SIZE} mirrors are kept open, and a mirror not used for {@link #MIRROR_IDLE_HOURS} is
+ * closed. {@link CleanupWork} deletes the directories of mirrors that are not open and were not used for as long.
+ */
+final class GitMirrorPool {
+
+    static final String MIRRORS_DIR = "caches/blueocean-git-mirrors";
+
+    /**
+     * Time a mirror is read without fetching first, in milliseconds. Default 30000.
+     */
+    static final long FETCH_INTERVAL_MILLIS = Long.getLong("GIT_MIRROR_FETCH_INTERVAL_MILLIS", 30000);
+
+    /**
+     * Time a successful push access check is remembered, in seconds. Set to 0 to check on every read. Default 300.
+     */
+    static final long PUSH_ACCESS_TTL_SECONDS = Long.getLong("GIT_PUSH_ACCESS_CACHE_TTL_SECONDS", 300);
+
+    /**
+     * Push access cache maximum number of entries. Default 1000.
+     */
+    static final long PUSH_ACCESS_CACHE_MAX_SIZE = Long.getLong("GIT_PUSH_ACCESS_CACHE_MAX_SIZE", 1000);
+
+    /**
+     * Maximum number of open mirrors. Default 100.
+     */
+    static final long MIRROR_CACHE_MAX_SIZE = Long.getLong("GIT_MIRROR_CACHE_MAX_SIZE", 100);
+
+    /**
+     * Time after which an unused mirror is closed and then deleted, in hours. Default 24.
+     */
+    static final long MIRROR_IDLE_HOURS = Long.getLong("GIT_MIRROR_IDLE_HOURS", 24);
+
+    private static final Logger LOGGER = Logger.getLogger(GitMirrorPool.class.getName());
+
+    /** Open mirrors by remote, closed when evicted */
+    private static final Cache<String, Mirror> MIRRORS = Caffeine.newBuilder()
+            .maximumSize(MIRROR_CACHE_MAX_SIZE)
+            .expireAfterAccess(MIRROR_IDLE_HOURS, TimeUnit.HOURS)
+            .removalListener((String remote, Mirror mirror, RemovalCause cause) -> {
+                if (mirror != null) {
+                    mirror.close();
+                }
+            })
+            .build();
+
+    /**
+     * Locks of the mirror directories, by hash of the directory name. A mirror is opened, used, closed and deleted
+     * with the lock of its directory held, so that an evicted mirror is never used together with the one replacing it.
+     */
+    private static final ReentrantLock[] LOCKS = new ReentrantLock[64];
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new ReentrantLock();
+        }
+    }
+
+    private static final Cache<PushAccessKey, Boolean> PUSH_ACCESS = Caffeine.newBuilder()
+            .maximumSize(PUSH_ACCESS_CACHE_MAX_SIZE)
+            .expireAfterWrite(PUSH_ACCESS_TTL_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * Runs the function on the mirror of the remote, fetched with the given credential if it is not current.
+     */
+    static <T> T invoke(@Nonnull String remote, @CheckForNull StandardCredentials credential,
+                        @Nonnull GitSCMFileSystem.FSFunction<T> function) throws IOException, InterruptedException {
+        Mirror mirror;
+        while (true) {
+            mirror = MIRRORS.get(remote, Mirror::new);
+            mirror.lock.lock();
+            if (!mirror.closed) {
+                break;
+            }
+            // evicted meanwhile, use the mirror replacing it
+            mirror.lock.unlock();
+        }
+        try {
+            Repository repo = mirror.open();
+            long age = System.currentTimeMillis() - mirror.lastFetched;
+            if (age >= FETCH_INTERVAL_MILLIS) {
+                mirror.fetch(credential);
+            } else if (age >= FETCH_INTERVAL_MILLIS / 2) {
+                Timer.get().submit(() -> mirror.fetchInBackground(credential));
+            }
+            return function.invoke(repo);
+        } finally {
+            mirror.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the mirror of the remote as out of date, so that the next read fetches first.
+     */
+    static void invalidate(@Nonnull String remote) {
+        Mirror mirror = MIRRORS.getIfPresent(remote);
+        if (mirror != null) {
+            mirror.lastFetched = 0;
+        }
+    }
+
+    /**
+     * Checks push access to the remote with {@link GitUtils#validatePushAccess}, unless the same user had push access
+     * with the same credential less than {@link #PUSH_ACCESS_TTL_SECONDS} ago.
+     */
+    static void validatePushAccess(@Nonnull Repository repo, @Nonnull String remote, @CheckForNull StandardCredentials credential) {
+        if (PUSH_ACCESS_TTL_SECONDS <= 0) {
+            GitUtils.validatePushAccess(repo, remote, credential);
+            return;
+        }
+        PushAccessKey key = new PushAccessKey(remote, credential);
+        if (PUSH_ACCESS.getIfPresent(key) == null) {
+            GitUtils.validatePushAccess(repo, remote, credential);
+            PUSH_ACCESS.put(key, Boolean.TRUE);
+        }
+    }
+
+    private static File mirrorsDir() {
+        return new File(Jenkins.get().getRootDir(), MIRRORS_DIR);
+    }
+
+    private static ReentrantLock lock(String dirName) {
+        return LOCKS[(dirName.hashCode() & Integer.MAX_VALUE) % LOCKS.length];
+    }
+
+    private static final class Mirror {
+        private final String remote;
+        private final File dir;
+        private final ReentrantLock lock;
+        private Repository repository;
+        private volatile long lastFetched;
+        /** Set once evicted, with the lock held */
+        private boolean closed;
+
+        private Mirror(String remote) {
+            this.remote = remote;
+            this.dir = new File(mirrorsDir(), DigestUtils.sha256Hex(remote));
+            this.lock = lock(dir.getName());
+        }
+
+        /** Opens the mirror, creating it on first use, with the lock held */
+        private Repository open() throws IOException {
+            // marks the mirror as used for CleanupWork
+            dir.setLastModified(System.currentTimeMillis());
+            if (repository == null) {
+                Repository repo = new FileRepositoryBuilder().setGitDir(dir).setBare().build();
+                if (!repo.getObjectDatabase().exists()) {
+                    repo.create(true);
+                    LOGGER.fine("Created mirror of " + remote + " in " + dir);
+                }
+                StoredConfig config = repo.getConfig();
+                if (!remote.equals(config.getString("remote", "origin", "url"))) {
+                    config.setString("remote", "origin", "url", remote);
+                    config.setString("remote", "origin", "fetch", "+refs/heads/*:refs/remotes/origin/*");
+                    config.save();
+                }
+                repository = repo;
+            }
+            return repository;
+        }
+
+        /** Fetches from the remote, with the lock held */
+        private void fetch(StandardCredentials credential) {
+            long started = System.currentTimeMillis();
+            GitUtils.fetch(repository, credential);
+            lastFetched = started;
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                closed = true;
+                if (repository != null) {
+                    repository.close();
+                    repository = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void fetchInBackground(StandardCredentials credential) {
+            if (!lock.tryLock()) {
+                // a request is using the mirror, it will be fetched again later
+                return;
+            }
+            try {
+                if (!closed && System.currentTimeMillis() - lastFetched >= FETCH_INTERVAL_MILLIS / 2) {
+                    fetch(credential);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "Background fetch of " + remote + " failed", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class PushAccessKey {
+        private final String remote;
+        private final String credentialId;
+        private final String userId;
+
+        private PushAccessKey(String remote, StandardCredentials credential) {
+            this.remote = remote;
+            this.credentialId = credential == null ? null : credential.getId();
+            User user = User.current();
+            this.userId = user == null ? null : user.getId();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PushAccessKey that = (PushAccessKey) o;
+            return remote.equals(that.remote)
+                && Objects.equals(credentialId, that.credentialId)
+                && Objects.equals(userId, that.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(remote, credentialId, userId);
+        }
+    }
+
+    /**
+     * Deletes the directories of mirrors that are not open and were not used for {@link #MIRROR_IDLE_HOURS}.
+     */
+    @Extension
+    public static final class CleanupWork extends AsyncPeriodicWork {
+
+        public CleanupWork() {
+            super("Blue Ocean git mirror cleanup");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return HOUR;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) {
+            MIRRORS.cleanUp();
+            File[] dirs = mirrorsDir().listFiles(File::isDirectory);
+            if (dirs == null) {
+                return;
+            }
+            long idleSince = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(MIRROR_IDLE_HOURS);
+            for (File dir : dirs) {
+                ReentrantLock lock = lock(dir.getName());
+                lock.lock();
+                try {
+                    if (dir.lastModified() >= idleSince || isOpen(dir)) {
+                        continue;
+                    }
+                    Util.deleteRecursive(dir);
+                    LOGGER.fine("Deleted unused mirror " + dir);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to delete unused mirror " + dir, e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private static boolean isOpen(File dir) {
+            for (Mirror mirror : MIRRORS.asMap().values()) {
+                if (mirror.dir.equals(dir)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private GitMirrorPool() {}
+}
@@ -26,6 +26,7 @@ package io.jenkins.blueocean.blueocean_git_pipeline;
 import com.cloudbees.jenkins.plugins.sshcredentials.impl.BasicSSHUserPrivateKey;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.KeyPair;
+import hudson.model.TaskListener;
 import hudson.model.User;
 import io.jenkins.blueocean.commons.MapsHelper;
 import io.jenkins.blueocean.rest.impl.pipeline.PipelineBaseTest;
@@ -53,6 +54,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
@@ -200,6 +202,20 @@ public class GitReadSaveTest extends PipelineBaseTest {
     public void testBareRepoReadWrite() throws Exception {
         testGitReadWrite(GitReadSaveService.ReadSaveType.CACHE_BARE, repoWithJenkinsfiles, masterPipelineScript);
         testGitReadWrite(GitReadSaveService.ReadSaveType.CACHE_BARE, repoNoJenkinsfile, null);
+        // both repositories are read through long-lived mirrors
+        File[] mirrors = new File(j.jenkins.getRootDir(), GitMirrorPool.MIRRORS_DIR).listFiles();
+        Assert.assertNotNull(mirrors);
+        Assert.assertEquals(2, mirrors.length);
+
+        // a mirror no longer open and unused for long is deleted, open ones are kept
+        File stale = new File(mirrors[0].getParentFile(), "stale");
+        Assert.assertTrue(new File(stale, "objects").mkdirs());
+        Assert.assertTrue(stale.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(GitMirrorPool.MIRROR_IDLE_HOURS + 1)));
+        Assert.assertTrue(mirrors[0].setLastModified(0));
+        j.jenkins.getExtensionList(GitMirrorPool.CleanupWork.class).get(0).execute(TaskListener.NULL);
+        Assert.assertFalse(stale.exists());
+        Assert.assertTrue(mirrors[0].exists());
+        Assert.assertTrue(mirrors[1].exists());
     }
 
     @Test
@@ -12,7 +12,6 @@ import org.kohsuke.stapler.StaplerRequest;
 import org.kohsuke.stapler.export.Exported;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -57,16 +56,15 @@ public class GithubRepositories extends ScmRepositories {
                 pageSize = 100;
             }
 
-            HttpURLConnection connection;
-            connection = GithubScm.connect(String.format("%s/repos?type=%s&per_page=%s&page=%s",
+            String link;
+            try (HttpRequest.Response response = GithubScm.fetch(String.format("%s/repos?type=%s&per_page=%s&page=%s",
                     orgUrl,
                     parent.getRepoType(),
-                    pageSize, pageNumber), accessToken);
-
-            this.repositories = GithubScm.getMappingObjectReader().forType(GH_REPO_EX_LIST_TYPE)
-                .readValue(HttpRequest.getInputStream(connection));
-
-            String link = connection.getHeaderField("Link");
+                    pageSize, pageNumber), accessToken)) {
+                this.repositories = GithubScm.getMappingObjectReader().forType(GH_REPO_EX_LIST_TYPE)
+                    .readValue(response.getInputStream());
+                link = response.getHeaderField("Link");
+            }
 
             int nextPage = 0;
             int lastPage = 0;
@@ -11,7 +11,6 @@ import io.jenkins.blueocean.rest.impl.pipeline.scm.ScmRepositoryContainer;
 import org.kohsuke.github.GHRepository;
 
 import java.io.IOException;
-import java.net.HttpURLConnection;
 
 /**
  * @author Vivek Pandey
@@ -54,11 +53,12 @@ public class GithubRepositoryContainer extends ScmRepositoryContainer {
     @Override
     public ScmRepository get(String name) {
         try {
-            HttpURLConnection connection = GithubScm.connect(String.format("%s/repos/%s/%s", rootUrl,
-                    orgId,name),credentials.getPassword().getPlainText());
-            final GHRepository repository = GithubScm.getMappingObjectReader().forType(GHRepository.class)
-                .readValue(HttpRequest.getInputStream(connection));
-            return new GithubRepository(repository, credentials, this);
+            try (HttpRequest.Response response = GithubScm.fetch(String.format("%s/repos/%s/%s", rootUrl,
+                    orgId,name),credentials.getPassword().getPlainText())) {
+                final GHRepository repository = GithubScm.getMappingObjectReader().forType(GHRepository.class)
+                    .readValue(response.getInputStream());
+                return new GithubRepository(repository, credentials, this);
+            }
         } catch (IOException e) {
             throw new ServiceException.UnexpectedErrorException(e.getMessage(),e);
         }
@@ -0,0 +1,72 @@
+package io.jenkins.blueocean.blueocean_github_pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jenkins.blueocean.commons.DigestUtils;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * In-memory cache of GitHub API GET responses that carry an <code>ETag</code> or <code>Last-Modified</code> header,
+ * keyed by URL and by a hash of the authorization.
+ *
+ * {@link HttpRequest} sends the validators of a cached response, and a <code>304 Not Modified</code> answer, which
+ * GitHub does not count against the rate limit, is served from the cache.
+ *
+ * Responses are read with the token of a user, so they are only kept in the heap of the controller: nothing is written
+ * to disk, and the cache starts empty after a restart. Neither the token nor the URL is kept, only a hash of both.
+ */
+final class GithubResponseCache {
+
+    /**
+     * GitHub response cache maximum size, in bytes of response bodies. Set to 0 to disable the cache. Default 16777216
+     * (16 MiB).
+     */
+    static final long GITHUB_RESPONSE_CACHE_MAX_BYTES = Long.getLong("GITHUB_RESPONSE_CACHE_MAX_BYTES", 16 * 1024 * 1024);
+
+    private static final Cache<String, Entry> RESPONSES = Caffeine.newBuilder()
+            .maximumWeight(GITHUB_RESPONSE_CACHE_MAX_BYTES)
+            .weigher((String key, Entry entry) -> entry.body.length)
+            .build();
+
+    /**
+     * A cached response, with the headers needed to validate and page through it.
+     */
+    static final class Entry {
+        @CheckForNull
+        final String etag;
+        @CheckForNull
+        final String lastModified;
+        @CheckForNull
+        final String link;
+        final byte[] body;
+
+        Entry(@CheckForNull String etag, @CheckForNull String lastModified, @CheckForNull String link, @Nonnull byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.link = link;
+            this.body = body;
+        }
+    }
+
+    static boolean isEnabled() {
+        return GITHUB_RESPONSE_CACHE_MAX_BYTES > 0;
+    }
+
+    @CheckForNull
+    static Entry get(@Nonnull String url, @CheckForNull String authorization) {
+        return RESPONSES.getIfPresent(key(url, authorization));
+    }
+
+    static void put(@Nonnull String url, @CheckForNull String authorization, @Nonnull Entry entry) {
+        RESPONSES.put(key(url, authorization), entry);
+    }
+
+    private static String key(String url, String authorization) {
+        // the authorization is part of the key so that responses are never shared between tokens
+        return DigestUtils.sha256Hex(url + '\n' + (authorization == null ? "" : DigestUtils.sha256Hex(authorization)));
+    }
+
+    private GithubResponseCache() {}
+}
@@ -344,7 +344,26 @@ public class GithubScm extends AbstractScm {
 
     protected static HttpURLConnection connect(String apiUrl, String accessToken) throws IOException {
         HttpURLConnection connection = HttpRequest.get(apiUrl).withAuthorizationToken(accessToken).connect();
-        int status = connection.getResponseCode();
+        checkStatus(apiUrl, connection.getResponseCode(), connection.getResponseMessage());
+        return connection;
+    }
+
+    /**
+     * Same as {@link #connect(String, String)}, through the response cache of {@link HttpRequest}. The response must be
+     * closed.
+     */
+    static HttpRequest.Response fetch(String apiUrl, String accessToken) throws IOException {
+        HttpRequest.Response response = HttpRequest.get(apiUrl).withAuthorizationToken(accessToken).execute();
+        try {
+            checkStatus(apiUrl, response.getStatus(), response.getResponseMessage());
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+        return response;
+    }
+
+    private static void checkStatus(String apiUrl, int status, String responseMessage) {
         if(status == 401){
             throw new ServiceException.PreconditionRequired("Invalid accessToken");
         }
@@ -355,10 +374,8 @@ public class GithubScm extends AbstractScm {
             throw new ServiceException.NotFoundException(String.format("Remote server at %s responded with code 404.", apiUrl));
         }
         if(status != 200) {
-            throw new ServiceException.BadRequestException(String.format("GitHub Api returned error: %s. Error message: %s.", connection.getResponseCode(), connection.getResponseMessage()));
+            throw new ServiceException.BadRequestException(String.format("GitHub Api returned error: %s. Error message: %s.", status, responseMessage));
         }
-
-        return connection;
     }
 
     /**
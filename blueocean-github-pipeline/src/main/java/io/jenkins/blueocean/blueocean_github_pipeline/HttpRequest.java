@@ -6,9 +6,11 @@ import io.jenkins.blueocean.commons.ServiceException;
 import jenkins.model.Jenkins;
 import org.apache.commons.io.IOUtils;
 
+import javax.annotation.CheckForNull;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Array;
 import java.net.HttpURLConnection;
 import java.net.Proxy;
@@ -66,7 +68,45 @@ class HttpRequest {
     }
 
     public <T> T to(Class<T> type) throws IOException {
-        HttpURLConnection connection = connect();
+        try (Response response = execute()) {
+            int status = response.getStatus();
+            if (status == 304) {
+                return null;
+            }
+            if (status == 204 && type != null && type.isArray()) {
+                return type.cast(Array.newInstance(type.getComponentType(), 0));
+            }
+            if(status == 401 || status == 403){
+                throw new ServiceException.ForbiddenException("Invalid accessToken");
+            }
+            if(status == 404){
+                throw new ServiceException.NotFoundException("Not Found. Remote server sent code " + response.getErrorResponse());
+            }
+            if(status > 399) {
+                throw new ServiceException.BadRequestException(String.format("%s %s returned error: %s. Error message: %s.", method, url ,status, response.getErrorResponse()));
+            }
+            if(!method.equals("HEAD") && type != null) {
+                // deserialize while reading, the body is not buffered
+                try {
+                    return GithubScm.getMappingObjectReader().forType(type).readValue(response.getInputStream());
+                } catch (JsonMappingException e) {
+                    throw new IOException("Failed to deserialize " + method + " " + url + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends the request. A GET of a response cached by {@link GithubResponseCache} is sent with its validators, and
+     * answered from the cache when GitHub replies that it is not modified.
+     */
+    Response execute() throws IOException {
+        boolean cacheable = method.equals("GET") && GithubResponseCache.isEnabled();
+        GithubResponseCache.Entry cached = cacheable ? GithubResponseCache.get(url, authorization) : null;
+
+        HttpURLConnection connection = connect(cached);
         if (methodNeedsBody()) {
             if (body == null) {
                 GithubScm.getMappingObjectWriter().writeValue(connection.getOutputStream(), Collections.emptyMap());
@@ -75,47 +115,89 @@ class HttpRequest {
             }
         }
 
-
         int status = connection.getResponseCode();
-        if (status == 304) {
-            return null;
+        if (!cacheable) {
+            return new Response(connection, status, null);
         }
-        if (status == 204 && type != null && type.isArray()) {
-            return type.cast(Array.newInstance(type.getComponentType(), 0));
+        if (status == 304 && cached != null) {
+            drain(connection.getInputStream());
+            return new Response(connection, 200, cached);
         }
-        if(status == 401 || status == 403){
-            throw new ServiceException.ForbiddenException("Invalid accessToken");
+        String etag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+        if (status == 200 && (etag != null || lastModified != null)) {
+            byte[] data;
+            try (InputStream in = getInputStream(connection)) {
+                data = IOUtils.toByteArray(in);
+            }
+            GithubResponseCache.Entry entry = new GithubResponseCache.Entry(etag, lastModified, connection.getHeaderField("Link"), data);
+            GithubResponseCache.put(url, authorization, entry);
+            return new Response(connection, status, entry);
         }
-        if(status == 404){
-            throw new ServiceException.NotFoundException("Not Found. Remote server sent code " + getErrorResponse(connection));
+        return new Response(connection, status, null);
+    }
+
+    /**
+     * Response of a request, read from the connection or from {@link GithubResponseCache}. Closing it reads what is
+     * left of the body so that the connection can be reused.
+     */
+    static final class Response implements Closeable {
+        private final HttpURLConnection connection;
+        private final int status;
+        @CheckForNull
+        private final GithubResponseCache.Entry entry;
+        private InputStream in;
+
+        private Response(HttpURLConnection connection, int status, @CheckForNull GithubResponseCache.Entry entry) {
+            this.connection = connection;
+            this.status = status;
+            this.entry = entry;
         }
-        if(status > 399) {
-            throw new ServiceException.BadRequestException(String.format("%s %s returned error: %s. Error message: %s.", method, url ,status, getErrorResponse(connection)));
+
+        int getStatus() {
+            return status;
         }
-        if(!method.equals("HEAD")) {
-            try(InputStreamReader r = new InputStreamReader(
-                    wrapStream( connection.getInputStream(), connection.getContentEncoding()),
-                    StandardCharsets.UTF_8 )){
-
-                String data = IOUtils.toString(r);
-                if (type != null ){
-                    try {
-                        return GithubScm.getMappingObjectReader().forType(type).readValue(data);
-                    } catch (JsonMappingException e) {
-                        throw new IOException("Failed to deserialize: " + e.getMessage() + "\n" + data, e);
-                    }
-                }
+
+        String getResponseMessage() throws IOException {
+            return connection.getResponseMessage();
+        }
+
+        @CheckForNull
+        String getHeaderField(String name) {
+            if (entry != null && "Link".equalsIgnoreCase(name)) {
+                return entry.link;
             }
+            return connection.getHeaderField(name);
         }
 
-        return null;
+        InputStream getInputStream() throws IOException {
+            if (in == null) {
+                in = entry != null ? new ByteArrayInputStream(entry.body) : HttpRequest.getInputStream(connection);
+            }
+            return in;
+        }
+
+        String getErrorResponse() throws IOException {
+            try (InputStream error = HttpRequest.getErrorStream(connection)) {
+                return error == null ? "" : IOUtils.toString(error, StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (entry == null && status < 400 && !connection.getRequestMethod().equals("HEAD")) {
+                try (InputStream body = getInputStream()) {
+                    drain(body);
+                }
+            }
+        }
     }
 
-    private String getErrorResponse(HttpURLConnection connection) throws IOException {
-        if(connection.getErrorStream() == null){
-            return "";
+    private static void drain(@CheckForNull InputStream in) throws IOException {
+        if (in != null) {
+            IOUtils.skip(in, Long.MAX_VALUE);
+            in.close();
         }
-        return IOUtils.toString(wrapStream( connection.getErrorStream(), connection.getContentEncoding()));
     }
 
     private boolean methodNeedsBody(){
@@ -123,6 +205,10 @@ class HttpRequest {
     }
 
     HttpURLConnection connect() throws IOException {
+        return connect(null);
+    }
+
+    private HttpURLConnection connect(@CheckForNull GithubResponseCache.Entry cached) throws IOException {
         URL apiUrl = new URL(url);
         ProxyConfiguration proxyConfig = Jenkins.get().proxy;
         Proxy proxy = proxyConfig == null ? Proxy.NO_PROXY : proxyConfig.createProxy(apiUrl.getHost());
@@ -133,6 +219,14 @@ class HttpRequest {
         }
         connect.setRequestMethod(method);
         connect.setRequestProperty("Accept-Encoding", "gzip");
+        if (cached != null) {
+            if (cached.etag != null) {
+                connect.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                connect.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+        }
         connect.setDoOutput(true);
         connect.setRequestProperty("Content-type", contentType);
         connect.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(10));
@@ -137,4 +137,23 @@ public class GithubApiTest extends GithubMockBase {
         connection = HttpRequest.get(j.getURL().toString()).connect();
         Assert.assertTrue(connection.usingProxy());
     }
+
+    @Test
+    public void notModifiedResponsesAreServedFromCache() throws IOException {
+        addPerTestStub(WireMock.get(urlEqualTo("/repos/cache-test/etag"))
+                           .willReturn(aResponse().withStatus(200)
+                                                  .withHeader("ETag", "\"v1\"")
+                                                  .withHeader("Content-Type", "application/json")
+                                                  .withBody("{\"name\":\"etag\"}")));
+        addPerTestStub(WireMock.get(urlEqualTo("/repos/cache-test/etag"))
+                           .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                           .willReturn(aResponse().withStatus(304)));
+
+        Map first = HttpRequest.get(githubApiUrl + "/repos/cache-test/etag").withAuthorizationToken(accessToken).to(Map.class);
+        Map second = HttpRequest.get(githubApiUrl + "/repos/cache-test/etag").withAuthorizationToken(accessToken).to(Map.class);
+
+        assertEquals("etag", first.get("name"));
+        // the 304 has no body
+        assertEquals(first, second);
+    }
 }
@@ -23,11 +23,14 @@
  */
 package io.jenkins.blueocean.i18n;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.PluginWrapper;
 import hudson.util.HttpResponses;
+import io.jenkins.blueocean.commons.stapler.CachedJsonResponse;
 import io.jenkins.blueocean.rest.ApiRoutable;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONObject;
@@ -42,15 +45,11 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -66,14 +65,18 @@ public class BlueI18n implements ApiRoutable {
     private static final Logger LOGGER = Logger.getLogger(BlueI18n.class.getName());
 
     /**
-     * Failed lookup cache entry.
+     * Bundle cache maximum size, in bytes of serialized bundles. Default 4194304 (4 MiB).
      */
-    private static final JSONObject BUNDLE_404 = new JSONObject();
+    static final long BUNDLE_CACHE_MAX_BYTES = Long.getLong("I18N_BUNDLE_CACHE_MAX_BYTES", 4 * 1024 * 1024);
 
     /**
-     * Bundle cache.
+     * Bundle cache, failed lookups included. Bundle parameters come from the URL, so the cache is bounded by the size
+     * of the bundles rather than by the number of distinct locales asked for.
      */
-    private Map<BundleParams, BundleCacheEntry> bundleCache = new ConcurrentHashMap<>();
+    private final Cache<BundleParams, BundleCacheEntry> bundleCache = Caffeine.newBuilder()
+        .maximumWeight(BUNDLE_CACHE_MAX_BYTES)
+        .weigher((BundleParams params, BundleCacheEntry entry) -> entry.weight())
+        .build();
 
     /**
      * {@inheritDoc}
@@ -104,29 +107,18 @@ public class BlueI18n implements ApiRoutable {
         }
 
         try {
-            Locale locale = bundleParams.getLocale();
+            Locale locale = bundleParams.getLocale() != null ? bundleParams.getLocale() : request.getLocale();
 
-            if (locale == null) {
-                locale = request.getLocale();
-            }
-
-            BundleCacheEntry bundleCacheEntry = bundleCache.get(bundleParams);
-
-            JSONObject bundle;
-            if (bundleCacheEntry == null) {
-                bundle = getBundle(bundleParams, locale);
+            BundleCacheEntry bundleCacheEntry = bundleCache.get(bundleParams, params -> {
+                JSONObject bundle = getBundle(params, locale);
                 if (bundle == null) {
-                    bundle = BUNDLE_404;
+                    return BundleCacheEntry.notFound(params);
                 }
-                bundleCacheEntry = new BundleCacheEntry(bundle, bundleParams);
-                bundleCache.put(bundleParams, bundleCacheEntry);
-            }
+                PluginWrapper plugin = params.getPlugin();
+                return BundleCacheEntry.ok(bundle, params, plugin != null ? plugin.getVersion() : null);
+            });
 
-            if (bundleCacheEntry.bundleData == BUNDLE_404) {
-                return JSONObjectResponse.errorJson("Unknown plugin or resource bundle: " + bundleParams.toString(), HttpServletResponse.SC_NOT_FOUND);
-            } else {
-                return JSONObjectResponse.okJson(bundleCacheEntry);
-            }
+            return new JSONObjectResponse(bundleCacheEntry);
         } catch (Exception e) {
             return HttpResponses.errorJSON(e.getMessage());
         }
@@ -327,40 +319,55 @@ public class BlueI18n implements ApiRoutable {
         }
     }
 
-    private static class BundleCacheEntry {
-        private final JSONObject bundleData;
-        private final BundleParams bundleParams;
-        private final long timestamp = System.currentTimeMillis();
+    /**
+     * Response of a bundle lookup, serialized once as UTF-8 JSON, with a gzip variant and strong ETags when found.
+     */
+    static final class BundleCacheEntry {
+        final BundleParams bundleParams;
+        final int statusCode;
+        final CachedJsonResponse body;
 
-        public BundleCacheEntry(JSONObject bundleData, BundleParams bundleParams) {
-            this.bundleData = bundleData;
+        private BundleCacheEntry(BundleParams bundleParams, int statusCode, CachedJsonResponse body) {
             this.bundleParams = bundleParams;
+            this.statusCode = statusCode;
+            this.body = body;
         }
-    }
-
-    static class JSONObjectResponse implements HttpResponse {
 
-        private static final Charset UTF8 = StandardCharsets.UTF_8;
+        static BundleCacheEntry ok(JSONObject bundleData, BundleParams bundleParams, @CheckForNull String pluginVersionActual) {
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put("data", bundleData);
+            jsonObject.put("status", "ok");
+            jsonObject.put("cache-timestamp", System.currentTimeMillis());
+            // Set pugin version info that can be used by the browser to
+            // determine if it wants to use the resource bundle, or not.
+            // The versions may not match (in theory - should never happen),
+            // in which case the browser might not want to use the bundle data.
+            jsonObject.put("plugin-version-requested", bundleParams.pluginVersion);
+            if (pluginVersionActual != null) {
+                jsonObject.put("plugin-version-actual", pluginVersionActual);
+            }
+            // the timestamp is part of the body, so a bundle loaded again gets another tag
+            return new BundleCacheEntry(bundleParams, HttpServletResponse.SC_OK, CachedJsonResponse.of(jsonObject.toString()));
+        }
 
-        private final JSONObject jsonObject = new JSONObject();
-        private BundleCacheEntry bundleCacheEntry;
-        private int statusCode = HttpServletResponse.SC_OK;
+        static BundleCacheEntry notFound(BundleParams bundleParams) {
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put("status", "error");
+            jsonObject.put("message", "Unknown plugin or resource bundle: " + bundleParams.toString());
+            return new BundleCacheEntry(bundleParams, HttpServletResponse.SC_NOT_FOUND, CachedJsonResponse.of(jsonObject.toString()));
+        }
 
-        private static JSONObjectResponse okJson(BundleCacheEntry bundleCacheEntry) {
-            JSONObjectResponse response = new JSONObjectResponse();
-            response.bundleCacheEntry = bundleCacheEntry;
-            response.jsonObject.put("data", bundleCacheEntry.bundleData);
-            response.jsonObject.put("status", "ok");
-            response.jsonObject.put("cache-timestamp", bundleCacheEntry.timestamp);
-            return response;
+        int weight() {
+            return body.weight();
         }
+    }
+
+    static class JSONObjectResponse implements HttpResponse {
 
-        private static JSONObjectResponse errorJson(String message, int errorCode) {
-            JSONObjectResponse response = new JSONObjectResponse();
-            response.jsonObject.put("status", "error");
-            response.jsonObject.put("message", message);
-            response.statusCode = errorCode;
-            return response;
+        private final BundleCacheEntry bundleCacheEntry;
+
+        JSONObjectResponse(BundleCacheEntry bundleCacheEntry) {
+            this.bundleCacheEntry = bundleCacheEntry;
         }
 
         /**
@@ -368,34 +375,24 @@ public class BlueI18n implements ApiRoutable {
          */
         @Override
         public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException {
-            rsp.setStatus(statusCode);
-            rsp.setContentType("application/json; charset=UTF-8");
-            if (bundleCacheEntry != null) {
-                // Set pugin version info that can be used by the browser to
-                // determine if it wants to use the resource bundle, or not.
-                // The versions may not match (in theory - should never happen),
-                // in which case the browser might not want to use the bundle data.
-                jsonObject.put("plugin-version-requested", bundleCacheEntry.bundleParams.pluginVersion);
-                PluginWrapper pluginWrapper = bundleCacheEntry.bundleParams.getPlugin();
-                if(pluginWrapper != null) {
-                    jsonObject.put("plugin-version-actual", pluginWrapper.getVersion());
-                }
-
-                if (bundleCacheEntry.bundleParams.isBrowserCacheable()) {
+            BundleParams bundleParams = bundleCacheEntry.bundleParams;
+            if (bundleCacheEntry.statusCode == HttpServletResponse.SC_OK) {
+                if (bundleParams.isBrowserCacheable()) {
                     // Set the expiry to one year.
                     rsp.setHeader("Cache-Control", "public, max-age=31536000");
-                } else if (!bundleCacheEntry.bundleParams.isMatchingPluginVersionInstalled()) {
+                } else if (!bundleParams.isMatchingPluginVersionInstalled()) {
                     // This should never really happen if things are installed properly
                     // and the UI is coded up properly, with proper access to the installed
                     // plugin version.
+                    PluginWrapper pluginWrapper = bundleParams.getPlugin();
                     LOGGER.log(Level.WARNING, String.format("Unexpected request for Blue Ocean i18n resource bundle '%s'. Installed plugin version '%s' does not match.",
-                        bundleCacheEntry.bundleParams, pluginWrapper!= null ? pluginWrapper.getVersion() : "unknown"));
+                        bundleParams, pluginWrapper!= null ? pluginWrapper.getVersion() : "unknown"));
                 }
+                bundleCacheEntry.body.generateResponse(req, rsp, node);
+            } else {
+                rsp.setStatus(bundleCacheEntry.statusCode);
+                bundleCacheEntry.body.writeBody(req, rsp);
             }
-
-            byte[] bytes = jsonObject.toString().getBytes(UTF8);
-            rsp.setContentLength(bytes.length);
-            rsp.getOutputStream().write(bytes);
         }
     }
 
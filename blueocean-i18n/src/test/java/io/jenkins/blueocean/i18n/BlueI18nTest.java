@@ -23,9 +23,13 @@
  */
 package io.jenkins.blueocean.i18n;
 
+import net.sf.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 /**
  * @author <a href="mailto:tom.fennelly@gmail.com">tom.fennelly@gmail.com</a>
  */
@@ -113,4 +117,25 @@ public class BlueI18nTest {
         Assert.assertNotEquals(BlueI18n.getBundleParameters("pluginx/1.0/pluginx.bundle/en"), BlueI18n.getBundleParameters("pluginx/1.0/pluginx.bundle/"));
         Assert.assertNotEquals(BlueI18n.getBundleParameters("pluginx/1.0/pluginx.bundle/en"), BlueI18n.getBundleParameters("pluginx/1.0/pluginx.bundle/en_EN"));
     }
+
+    @Test
+    public void test_BundleCacheEntry_ok() throws IOException {
+        JSONObject bundle = new JSONObject();
+        for (int i = 0; i < 100; i++) {
+            bundle.put("key." + i, "Value number " + i);
+        }
+        BlueI18n.BundleParams bundleParams = BlueI18n.getBundleParameters("pluginx/1.0/pluginx.bundle/en");
+        BlueI18n.BundleCacheEntry entry = BlueI18n.BundleCacheEntry.ok(bundle, bundleParams, "1.0");
+
+        JSONObject json = JSONObject.fromObject(new String(entry.body.getBody(), StandardCharsets.UTF_8));
+        Assert.assertEquals("ok", json.getString("status"));
+        Assert.assertEquals(bundle, json.getJSONObject("data"));
+        Assert.assertEquals("1.0", json.getString("plugin-version-requested"));
+        Assert.assertEquals("1.0", json.getString("plugin-version-actual"));
+        Assert.assertEquals(entry.body.weight(), entry.weight());
+
+        BlueI18n.BundleCacheEntry notFound = BlueI18n.BundleCacheEntry.notFound(bundleParams);
+        Assert.assertEquals(404, notFound.statusCode);
+        Assert.assertEquals("error", JSONObject.fromObject(new String(notFound.body.getBody(), StandardCharsets.UTF_8)).getString("status"));
+    }
 }
@@ -1,5 +1,8 @@
 package io.jenkins.blueocean.auth.jwt.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import hudson.Extension;
 import hudson.model.User;
 import io.jenkins.blueocean.auth.jwt.JwtAuthenticationStore;
@@ -27,9 +30,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.CheckForNull;
 import javax.servlet.http.HttpServletRequest;
+import java.security.interfaces.RSAPublicKey;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static org.jose4j.jws.AlgorithmIdentifiers.RSA_USING_SHA256;
 
@@ -41,6 +47,20 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifierImpl.class);
 
+    /**
+     * JwtConsumer cache maximum number of entries, one per key ID. Default 24.
+     */
+    static final long JWT_CONSUMER_CACHE_MAX_SIZE = Long.getLong("JWT_CONSUMER_CACHE_MAX_SIZE", 24);
+
+    /**
+     * Consumers by key ID, rebuilt when the provider returns another public key for the same key ID.
+     * JwtConsumer is thread safe once built.
+     */
+    private final Cache<String, KeyConsumer> consumers = Caffeine.newBuilder()
+        .maximumSize(JWT_CONSUMER_CACHE_MAX_SIZE)
+        .expireAfterAccess(1, TimeUnit.DAYS)
+        .build();
+
     @Override
     public Authentication verify(HttpServletRequest request) {
         return  validate(request);
@@ -81,13 +101,7 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
                 throw new ServiceException.UnexpectedErrorException("Invalid kid="+kid);
             }
 
-            JwtConsumer jwtConsumer = new JwtConsumerBuilder()
-                .setRequireExpirationTime() // the JWT must have an expiration time
-                .setRequireJwtId()
-                .setAllowedClockSkewInSeconds(30) // allow some leeway in validating time based claims to account for clock skew
-                .setRequireSubject() // the JWT must have a subject claim
-                .setVerificationKey(publicKey.getKey()) // verify the sign with the public key
-                .build(); // create the JwtConsumer instance
+            JwtConsumer jwtConsumer = getConsumer(kid, publicKey.getKey());
 
             try {
                 JwtContext context = jwtConsumer.process(token);
@@ -101,6 +115,10 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
                     // We give a change to the authentication store to inspect the claims and if expired it might
                     // do cleanup of associated Authentication object for example.
                     JwtAuthenticationStore authenticationStore = getJwtStore(claims.getClaimsMap());
+                    if (authenticationStore == null) {
+                        // no store knows this token, so it carries no authentication
+                        return null;
+                    }
                     Authentication authentication = authenticationStore.getAuthentication(claims.getClaimsMap());
 
                     // Now check if token expired
@@ -126,6 +144,32 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
         }
     }
 
+    private JwtConsumer getConsumer(String kid, RSAPublicKey key) {
+        KeyConsumer cached = consumers.getIfPresent(kid);
+        if (cached != null && cached.key.equals(key)) {
+            return cached.consumer;
+        }
+        JwtConsumer consumer = new JwtConsumerBuilder()
+            .setRequireExpirationTime() // the JWT must have an expiration time
+            .setRequireJwtId()
+            .setAllowedClockSkewInSeconds(30) // allow some leeway in validating time based claims to account for clock skew
+            .setRequireSubject() // the JWT must have a subject claim
+            .setVerificationKey(key) // verify the sign with the public key
+            .build(); // create the JwtConsumer instance
+        consumers.put(kid, new KeyConsumer(key, consumer));
+        return consumer;
+    }
+
+    private static final class KeyConsumer {
+        private final RSAPublicKey key;
+        private final JwtConsumer consumer;
+
+        private KeyConsumer(RSAPublicKey key, JwtConsumer consumer) {
+            this.key = key;
+            this.consumer = consumer;
+        }
+    }
+
     private JsonWebStructure parse(String token) {
         try {
             return JsonWebStructure.fromCompactSerialization(token);
@@ -154,19 +198,63 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
     }
 
     public static class JwtAuthentication extends AbstractAuthenticationToken{
+        /**
+         * Granted authorities cache maximum number of entries. Default 1000.
+         */
+        static final long AUTHORITIES_CACHE_MAX_SIZE = Long.getLong("JWT_AUTHORITIES_CACHE_MAX_SIZE", 1000);
+
+        /**
+         * How long the granted authorities of a subject are reused, in seconds. Default 60, 0 disables the cache.
+         */
+        static final long AUTHORITIES_CACHE_TTL_SECONDS = Long.getLong("JWT_AUTHORITIES_CACHE_TTL_SECONDS", 60);
+
+        /**
+         * Granted authorities by subject and token id, so that the security realm is not asked on every request.
+         * An entry lives for {@link #AUTHORITIES_CACHE_TTL_SECONDS} at most, and never past the expiry of its token.
+         */
+        private static final Cache<AuthoritiesKey, Authorities> AUTHORITIES = Caffeine.newBuilder()
+            .maximumSize(AUTHORITIES_CACHE_MAX_SIZE)
+            .expireAfter(new AuthoritiesExpiry())
+            .build();
+
         private final String name;
         private final GrantedAuthority[] grantedAuthorities;
 
         public JwtAuthentication(String subject) {
+            this(subject, null, null);
+        }
+
+        /**
+         * For a {@link JwtAuthenticationStore} that rebuilds the authentication of a token from its claims, so that
+         * the granted authorities of the subject are reused for that token. The verifier itself never builds one: a
+         * token that no store gives an authentication for is not authenticated.
+         *
+         * @param subject user id of the token
+         * @param jwtId id of the token, null if unknown
+         * @param expirationTime expiry of the token, null if unknown
+         */
+        public JwtAuthentication(String subject, @CheckForNull String jwtId, @CheckForNull NumericDate expirationTime) {
+            AuthoritiesKey key = new AuthoritiesKey(subject, jwtId);
+            Authorities authorities = AUTHORITIES_CACHE_TTL_SECONDS > 0 ? AUTHORITIES.getIfPresent(key) : null;
+            if (authorities == null) {
+                authorities = new Authorities(loadAuthorities(subject),
+                                              expirationTime == null ? Long.MAX_VALUE : expirationTime.getValueInMillis());
+                if (AUTHORITIES_CACHE_TTL_SECONDS > 0) {
+                    AUTHORITIES.put(key, authorities);
+                }
+            }
+            this.grantedAuthorities = authorities.authorities;
+            this.name = subject;
+            super.setAuthenticated(true);
+        }
+
+        private static GrantedAuthority[] loadAuthorities(String subject) {
             User user = User.get(subject, false, Collections.emptyMap());
             if (user == null) {
                 throw new ServiceException.UnauthorizedException("Invalid JWT token: subject " + subject + " not found");
             }
-            //TODO: UserDetails call is expensive, encode it in token and create UserDetails from it
             UserDetails d = Jenkins.get().getSecurityRealm().loadUserByUsername(user.getId());
-            this.grantedAuthorities = d.getAuthorities();
-            this.name = subject;
-            super.setAuthenticated(true);
+            return d.getAuthorities();
         }
 
         @Override
@@ -189,5 +277,65 @@ public class JwtTokenVerifierImpl extends JwtTokenVerifier {
             //Fix for FB warning: EI_EXPOSE_REP
             return Arrays.copyOf(grantedAuthorities, grantedAuthorities.length);
         }
+
+        private static final class AuthoritiesKey {
+            private final String subject;
+            private final String jwtId;
+
+            private AuthoritiesKey(String subject, String jwtId) {
+                this.subject = subject;
+                this.jwtId = jwtId;
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (!(o instanceof AuthoritiesKey)) {
+                    return false;
+                }
+                AuthoritiesKey that = (AuthoritiesKey) o;
+                return subject.equals(that.subject) && Objects.equals(jwtId, that.jwtId);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(subject, jwtId);
+            }
+        }
+
+        private static final class Authorities {
+            private final GrantedAuthority[] authorities;
+            /** expiry of the token, in milliseconds since the epoch */
+            private final long expiresAtMillis;
+
+            private Authorities(GrantedAuthority[] authorities, long expiresAtMillis) {
+                this.authorities = authorities;
+                this.expiresAtMillis = expiresAtMillis;
+            }
+        }
+
+        private static final class AuthoritiesExpiry implements Expiry<AuthoritiesKey, Authorities> {
+            @Override
+            public long expireAfterCreate(AuthoritiesKey key, Authorities value, long currentTime) {
+                long ttl = TimeUnit.SECONDS.toNanos(AUTHORITIES_CACHE_TTL_SECONDS);
+                long untilExpiry = value.expiresAtMillis - System.currentTimeMillis();
+                if (untilExpiry <= 0) {
+                    return 0;
+                }
+                return Math.min(ttl, TimeUnit.MILLISECONDS.toNanos(untilExpiry));
+            }
+
+            @Override
+            public long expireAfterUpdate(AuthoritiesKey key, Authorities value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(AuthoritiesKey key, Authorities value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        }
     }
 }
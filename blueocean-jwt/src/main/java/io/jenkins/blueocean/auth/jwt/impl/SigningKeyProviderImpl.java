@@ -6,10 +6,13 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import hudson.Extension;
 import io.jenkins.blueocean.auth.jwt.JwtSigningKeyProvider;
 import io.jenkins.blueocean.auth.jwt.JwtToken;
@@ -31,14 +34,31 @@ public class SigningKeyProviderImpl extends JwtSigningKeyProvider {
     public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMM")
         .withZone(ZoneId.systemDefault());
 
+    /**
+     * Public key cache maximum number of entries, one per month. Default 24.
+     */
+    static final long PUBLIC_KEY_CACHE_MAX_SIZE = Long.getLong("JWT_PUBLIC_KEY_CACHE_MAX_SIZE", 24);
+
     private final AtomicReference<JwtRsaDigitalSignatureKey> key = new AtomicReference<>();
 
+    /**
+     * Public keys by key ID, so that verifying a token does not read the key from disk. Keys not found are not
+     * cached, and entries expire so that a key regenerated in the confidential store is picked up.
+     */
+    private final Cache<String, SigningPublicKey> publicKeys = Caffeine.newBuilder()
+        .maximumSize(PUBLIC_KEY_CACHE_MAX_SIZE)
+        .expireAfterWrite(1, TimeUnit.HOURS)
+        .build();
+
     @Override
     public SigningKey select(JwtToken token) {
         String id = DATE_FORMAT.format(Instant.now());
         JwtRsaDigitalSignatureKey k = key.get();
-        if (k==null || !k.getId().equals(id))
+        if (k==null || !k.getId().equals(id)) {
             key.set(k=new JwtRsaDigitalSignatureKey(id));
+            // the key of the new month may be created right now
+            publicKeys.invalidate(id);
+        }
         return k.toSigningKey();
     }
 
@@ -47,6 +67,10 @@ public class SigningKeyProviderImpl extends JwtSigningKeyProvider {
         if (!YYYYMM.matcher(kid).matches())
             return null;        // not our ID. This also protects against the directory traversal attack in key ID
 
+        return publicKeys.get(kid, this::loadPublicKey);
+    }
+
+    private SigningPublicKey loadPublicKey(String kid) {
         JwtRsaDigitalSignatureKey key = new JwtRsaDigitalSignatureKey(kid);
         try {
             if (!key.exists()) {
@@ -2,13 +2,26 @@ package io.jenkins.blueocean.auth.jwt.impl;
 
 import com.gargoylesoftware.htmlunit.Page;
 import com.gargoylesoftware.htmlunit.util.Cookie;
+import hudson.ExtensionList;
 import hudson.model.User;
 import hudson.tasks.Mailer;
+import hudson.security.AbstractPasswordBasedSecurityRealm;
+import hudson.security.GroupDetails;
+import hudson.security.SecurityRealm;
+import io.jenkins.blueocean.auth.jwt.JwtAuthenticationStore;
+import io.jenkins.blueocean.auth.jwt.JwtAuthenticationStoreFactory;
+import io.jenkins.blueocean.auth.jwt.SigningPublicKey;
 import net.sf.json.JSONObject;
+import org.acegisecurity.Authentication;
+import org.acegisecurity.AuthenticationException;
+import org.acegisecurity.GrantedAuthority;
+import org.acegisecurity.userdetails.UserDetails;
+import org.acegisecurity.userdetails.UsernameNotFoundException;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.jose4j.jws.JsonWebSignature;
 import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.JwtConsumer;
 import org.jose4j.jwt.consumer.JwtConsumerBuilder;
 import org.jose4j.jwx.JsonWebStructure;
@@ -17,12 +30,16 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.lang.reflect.Proxy;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Vivek Pandey
@@ -136,6 +153,113 @@ public class JwtAuthenticationServiceImplTest {
         Assert.assertEquals("anonymous", userContext.get("id"));
     }
 
+    @Test
+    public void publicKeysAreCached() throws Exception {
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        String token = getToken(j.createWebClient());
+        String kid = JsonWebStructure.fromCompactSerialization(token).getKeyIdHeaderValue();
+
+        SigningKeyProviderImpl provider = ExtensionList.lookupSingleton(SigningKeyProviderImpl.class);
+        SigningPublicKey key = provider.getPublicKey(kid);
+        Assert.assertNotNull(key);
+        Assert.assertSame(key, provider.getPublicKey(kid));
+        Assert.assertNull(provider.getPublicKey("190001"));
+    }
+
+    @Test
+    public void authoritiesAreCachedUntilTokenExpiry() throws Exception {
+        CountingSecurityRealm realm = new CountingSecurityRealm();
+        j.jenkins.setSecurityRealm(realm);
+        User.get("bob");
+
+        NumericDate expiry = NumericDate.fromMilliseconds(System.currentTimeMillis() + 2000);
+        new JwtTokenVerifierImpl.JwtAuthentication("bob", "token1", expiry);
+        JwtTokenVerifierImpl.JwtAuthentication authentication =
+            new JwtTokenVerifierImpl.JwtAuthentication("bob", "token1", expiry);
+        Assert.assertEquals(1, realm.loads.get());
+        Assert.assertEquals("bob", authentication.getName());
+        Assert.assertEquals(1, authentication.getAuthorities().length);
+
+        // another token of the same subject is looked up again
+        new JwtTokenVerifierImpl.JwtAuthentication("bob", "token2", expiry);
+        Assert.assertEquals(2, realm.loads.get());
+
+        // not reused past the expiry of the token
+        Thread.sleep(2500);
+        new JwtTokenVerifierImpl.JwtAuthentication("bob", "token1", expiry);
+        Assert.assertEquals(3, realm.loads.get());
+    }
+
+    @Test
+    public void tokenRefusedByStoreIsNotAuthenticated() throws Exception {
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        User.get("alice");
+        JenkinsRule.WebClient webClient = j.createWebClient();
+        webClient.login("alice");
+        String token = getToken(webClient);
+
+        JwtTokenVerifierImpl verifier = ExtensionList.lookupSingleton(JwtTokenVerifierImpl.class);
+        HttpServletRequest request = bearer(token);
+        Authentication authentication = verifier.verify(request);
+        Assert.assertNotNull(authentication);
+        Assert.assertEquals("alice", authentication.getName());
+
+        ExtensionList.lookupSingleton(RefusingStoreFactory.class).refuse = true;
+        Assert.assertNull(verifier.verify(request));
+    }
+
+    private static HttpServletRequest bearer(String token) {
+        return (HttpServletRequest) Proxy.newProxyInstance(JwtAuthenticationServiceImplTest.class.getClassLoader(),
+            new Class<?>[]{HttpServletRequest.class},
+            (proxy, method, args) -> method.getName().equals("getHeader") && "Authorization".equals(args[0])
+                ? "Bearer " + token : null);
+    }
+
+    @TestExtension("tokenRefusedByStoreIsNotAuthenticated")
+    public static class RefusingStoreFactory extends JwtAuthenticationStoreFactory implements JwtAuthenticationStore {
+        private volatile boolean refuse;
+
+        @Override
+        public JwtAuthenticationStore getJwtAuthenticationStore(Map<String, Object> claims) {
+            return refuse ? this : null;
+        }
+
+        @Override
+        public JwtAuthenticationStore getJwtAuthenticationStore(Authentication authentication) {
+            return null;
+        }
+
+        @Override
+        public Authentication getAuthentication(Map<String, Object> claims) {
+            return null;
+        }
+
+        @Override
+        public void store(Authentication authentication, Map<String, Object> claims) {
+        }
+    }
+
+    private static class CountingSecurityRealm extends AbstractPasswordBasedSecurityRealm {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Override
+        protected UserDetails authenticate(String username, String password) throws AuthenticationException {
+            return loadUserByUsername(username);
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+            loads.incrementAndGet();
+            return new org.acegisecurity.userdetails.User(username, "", true, true, true, true,
+                                                          new GrantedAuthority[]{SecurityRealm.AUTHENTICATED_AUTHORITY});
+        }
+
+        @Override
+        public GroupDetails loadGroupByGroupname(String groupname) throws UsernameNotFoundException {
+            throw new UsernameNotFoundException(groupname);
+        }
+    }
+
     // webclient has problems with pages returning 204, so we use HttpURLConnection directly to handle the token
     private String getToken(JenkinsRule.WebClient webClient) throws IOException {
         URL tokenUrl = new URL(webClient.getContextPath() + "jwt-auth/token/");
@@ -6,6 +6,7 @@ import hudson.model.TaskListener;
 import hudson.model.listeners.RunListener;
 import io.jenkins.blueocean.rest.hal.Link;
 import io.jenkins.blueocean.rest.hal.LinkResolver;
+import io.jenkins.blueocean.rest.impl.pipeline.NodeGraphBuilder;
 import org.jenkinsci.plugins.workflow.flow.FlowExecution;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -63,6 +64,8 @@ public class DownstreamJobListener extends RunListener<Run<?, ?>> {
                         // Also add to the actual trigger node so we can find it later by step
                         node.addAction(new NodeDownstreamBuildAction(link, description));
                         node.save();
+                        // the upstream run may have completed already, make sure its graph picks up the action
+                        NodeGraphBuilder.NodeGraphBuilderFactory.invalidate((WorkflowRun) triggerRun);
 
                     } catch (IOException e) {
                         LOGGER.severe("Could not persist node: " + e);
@@ -25,15 +25,12 @@ package io.jenkins.blueocean.preload;
 
 import hudson.Extension;
 import hudson.model.Item;
-import io.jenkins.blueocean.commons.stapler.Export;
 import io.jenkins.blueocean.rest.factory.BluePipelineFactory;
 import io.jenkins.blueocean.rest.model.BlueChangeSetEntry;
 import io.jenkins.blueocean.rest.model.BluePipeline;
 import io.jenkins.blueocean.rest.model.BlueRun;
 import io.jenkins.blueocean.rest.model.Container;
 import jenkins.model.Jenkins;
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
@@ -74,16 +71,10 @@ public class BlueRunChangesetPreloader extends RESTFetchPreloader {
 
     public FetchData getFetchData(Container<BlueChangeSetEntry> containerChangeSets) {
         try {
-            JSONArray changeSetEntries = new JSONArray();
-
-            for (BlueChangeSetEntry changeSetEntry: containerChangeSets) {
-                changeSetEntries.add(JSONObject.fromObject(Export.toJson(changeSetEntry)));
-            }
-
             // organizations/jenkins/pipelines/changes/runs/12/changeSet/?start=0&limit=101
-            return new FetchData(
+            return FetchData.ofItems(
                     containerChangeSets.getLink().getHref() + "?start=0&limit=101",
-                    changeSetEntries.toString()
+                    containerChangeSets.iterator()
             );
         } catch (IOException e) {
             LOGGER.log(Level.FINE, String.format("Unable to preload changelog data '%s'. Failed to convert to Blue Ocean Resource.", containerChangeSets.getLink().getHref()));
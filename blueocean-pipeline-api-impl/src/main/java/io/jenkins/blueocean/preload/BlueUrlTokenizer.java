@@ -61,6 +61,11 @@ public class BlueUrlTokenizer {
     private static final Set<String> PIPELINE_RUN_DETAIL_TABS =
         new LinkedHashSet<>(Arrays.asList("pipeline", "changes", "tests", "artifacts"));
 
+    /** Request attribute holding the result of {@link #parseCurrentRequest()}, {@link #NOT_BLUE} if null */
+    private static final String REQUEST_ATTRIBUTE = BlueUrlTokenizer.class.getName();
+
+    private static final Object NOT_BLUE = new Object();
+
     private Map<UrlPart, String> urlParts = new LinkedHashMap<>();
     private UrlPart lastPart;
 
@@ -144,6 +149,8 @@ public class BlueUrlTokenizer {
     /**
      * Parse the {@link Stapler#getCurrentRequest() current Stapler request} and return a {@link BlueUrlTokenizer} instance
      * iff the URL is a Blue Ocean UI URL.
+     * <p>
+     * The URL is parsed once per request, every preloader of the page gets the same instance.
      *
      * @return A {@link BlueUrlTokenizer} instance iff the URL is a Blue Ocean UI URL, otherwise {@code null}.
      * @throws IllegalStateException Called outside the scope of an active {@link StaplerRequest}.
@@ -156,12 +163,19 @@ public class BlueUrlTokenizer {
             throw new IllegalStateException("Illegal call to BlueoceanUrl.parseCurrentRequest outside the scope of an active StaplerRequest.");
         }
 
+        Object parsed = currentRequest.getAttribute(REQUEST_ATTRIBUTE);
+        if (parsed != null) {
+            return parsed == NOT_BLUE ? null : (BlueUrlTokenizer) parsed;
+        }
+
         String path = currentRequest.getOriginalRequestURI();
         String contextPath = currentRequest.getContextPath();
 
         path = path.substring(contextPath.length());
 
-        return parse(path);
+        BlueUrlTokenizer blueUrl = parse(path);
+        currentRequest.setAttribute(REQUEST_ATTRIBUTE, blueUrl == null ? NOT_BLUE : blueUrl);
+        return blueUrl;
     }
 
     /**
@@ -26,15 +26,11 @@ package io.jenkins.blueocean.preload;
 import hudson.Extension;
 import hudson.model.User;
 import io.jenkins.blueocean.commons.IterableUtils;
-import io.jenkins.blueocean.commons.stapler.Export;
-import io.jenkins.blueocean.rest.Reachable;
 import io.jenkins.blueocean.rest.factory.organization.OrganizationFactory;
 import io.jenkins.blueocean.rest.model.BlueFavorite;
 import io.jenkins.blueocean.rest.model.BlueFavoriteContainer;
 import io.jenkins.blueocean.rest.model.BlueOrganization;
 import io.jenkins.blueocean.service.embedded.rest.UserImpl;
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
 
 import javax.annotation.Nonnull;
 
@@ -72,21 +68,14 @@ public class FavoritesStatePreloader extends RESTFetchPreloader {
                 BlueFavoriteContainer favoritesContainer = blueUser.getFavorites();
 
                 if (favoritesContainer != null) {
-                    JSONArray favorites = new JSONArray();
                     // Limit the number of favorites to return to a sane amount
                     Iterator<BlueFavorite> favoritesIterator = favoritesContainer.iterator(0, DEFAULT_LIMIT);
-
-                    while (favoritesIterator.hasNext()) {
-                        Reachable favorite = favoritesIterator.next();
-                        try {
-                            favorites.add(JSONObject.fromObject(Export.toJson(favorite)));
-                        } catch (IOException e) {
-                            LOGGER.log(Level.FINE, String.format("Unable to preload favorites for User '%s'. Serialization error.", jenkinsUser.getFullName()), e);
-                            return null;
-                        }
+                    try {
+                        return FetchData.ofItems(favoritesContainer.getLink().getHref() + "?start=0&limit=" + DEFAULT_LIMIT, favoritesIterator);
+                    } catch (IOException e) {
+                        LOGGER.log(Level.FINE, String.format("Unable to preload favorites for User '%s'. Serialization error.", jenkinsUser.getFullName()), e);
+                        return null;
                     }
-
-                    return new FetchData(favoritesContainer.getLink().getHref() + "?start=0&limit=" + DEFAULT_LIMIT, favorites.toString());
                 }
             }
         }
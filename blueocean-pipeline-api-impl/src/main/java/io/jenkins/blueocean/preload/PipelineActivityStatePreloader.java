@@ -25,15 +25,11 @@ package io.jenkins.blueocean.preload;
 
 import hudson.Extension;
 import hudson.model.Item;
-import io.jenkins.blueocean.commons.stapler.Export;
 import io.jenkins.blueocean.rest.factory.BluePipelineFactory;
 import io.jenkins.blueocean.rest.model.BluePipeline;
 import io.jenkins.blueocean.rest.model.BlueRun;
 import io.jenkins.blueocean.rest.model.Container;
-import io.jenkins.blueocean.rest.model.Resource;
 import jenkins.model.Jenkins;
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
@@ -66,21 +62,13 @@ public class PipelineActivityStatePreloader extends RESTFetchPreloader {
                 return null;
             }
             Iterator<BlueRun> activitiesIterator = activitiesContainer.iterator(0, DEFAULT_LIMIT);
-            JSONArray activities = new JSONArray();
-
-            while(activitiesIterator.hasNext()) {
-                Resource blueActivity = activitiesIterator.next();
-                try {
-                    activities.add(JSONObject.fromObject(Export.toJson(blueActivity)));
-                } catch (IOException e) {
-                    LOGGER.log(Level.FINE, String.format("Unable to preload runs for Job '%s'. Activity serialization error.", pipeline.getFullName()), e);
-                    return null;
-                }
+            try {
+                return FetchData.ofItems(activitiesContainer.getLink().getHref() + "?start=0&limit=" + DEFAULT_LIMIT,
+                                         activitiesIterator);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, String.format("Unable to preload runs for Job '%s'. Activity serialization error.", pipeline.getFullName()), e);
+                return null;
             }
-
-            return new FetchData(
-                activitiesContainer.getLink().getHref() + "?start=0&limit=" + DEFAULT_LIMIT,
-                activities.toString());
         }
 
         // Don't preload any data on the page.
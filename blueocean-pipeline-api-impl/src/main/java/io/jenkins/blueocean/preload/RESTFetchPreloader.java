@@ -24,11 +24,15 @@
 package io.jenkins.blueocean.preload;
 
 import io.jenkins.blueocean.commons.PageStatePreloader;
-import net.sf.json.JSONObject;
+import io.jenkins.blueocean.commons.stapler.Export;
+import net.sf.json.util.JSONUtils;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
 
 /**
  * REST prefetch data preloader.
@@ -85,6 +89,16 @@ public abstract class RESTFetchPreloader extends PageStatePreloader
             this.data = data;
         }
 
+        /**
+         * Fetch data of a page of resources, serialized once as a JSON array while iterating the page.
+         * @throws IOException if an item cannot be serialized
+         */
+        public static FetchData ofItems(@Nonnull String restUrl, @Nonnull Iterator<?> items) throws IOException {
+            StringWriter writer = new StringWriter();
+            Export.toJsonStream(items, writer);
+            return new FetchData(restUrl, writer.toString());
+        }
+
         public String getRestUrl() {
             return restUrl;
         }
@@ -93,11 +107,18 @@ public abstract class RESTFetchPreloader extends PageStatePreloader
             return data;
         }
 
+        /**
+         * Renders the fetch data, with the data as a JSON string that the client parses when the REST URL is
+         * requested. The data is quoted as is rather than parsed into a JSON object and written back.
+         */
         public String toJSON() {
-            JSONObject json = new JSONObject();
-            json.put("restUrl", restUrl);
-            json.put("data", data);
-            return json.toString();
+            String quotedRestUrl = JSONUtils.quote(restUrl);
+            String quotedData = JSONUtils.quote(data);
+            return new StringBuilder(quotedRestUrl.length() + quotedData.length() + 21)
+                .append("{\"restUrl\":").append(quotedRestUrl)
+                .append(",\"data\":").append(quotedData)
+                .append('}')
+                .toString();
         }
     }
 }
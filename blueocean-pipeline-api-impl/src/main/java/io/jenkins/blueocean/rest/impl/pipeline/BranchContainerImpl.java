@@ -7,129 +7,19 @@ import io.jenkins.blueocean.rest.hal.Link;
 import io.jenkins.blueocean.rest.model.BlueOrganization;
 import io.jenkins.blueocean.rest.model.BluePipeline;
 import io.jenkins.blueocean.rest.model.BluePipelineContainer;
-import io.jenkins.blueocean.rest.model.BlueRun;
 import io.jenkins.blueocean.rest.pageable.PagedResponse;
 import io.jenkins.blueocean.service.embedded.rest.ContainerFilter;
+import jenkins.branch.MultiBranchProject;
+import org.acegisecurity.AccessDeniedException;
 
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.Iterator;
+import java.util.Objects;
 
 /**
  * @author Vivek Pandey
  */
 public class BranchContainerImpl extends BluePipelineContainer {
 
-
-    /**
-     * Orders by:
-     * - Default branch
-     * - Favourites ordered by last run time
-     * - All other branches ordered by last run time
-     */
-    private static final Comparator<BluePipeline> BRANCH_COMPARATOR = new Comparator<BluePipeline>() {
-        @Override
-        public int compare(BluePipeline _pipeline1, BluePipeline _pipeline2) {
-            BranchImpl pipeline1 = (BranchImpl)_pipeline1;
-            BranchImpl pipeline2 = (BranchImpl)_pipeline2;
-
-            BranchImpl.Branch branch1 = pipeline1.getBranch();
-            if (branch1 == null) {
-                return -1;
-            }
-
-            BranchImpl.Branch branch2 = pipeline2.getBranch();
-            if (branch2 == null) {
-                return 1;
-            }
-
-            // If one pipeline isnt the primary there is no need to go further
-            if(branch1.isPrimary() && !branch2.isPrimary()) {
-                return -1;
-            }
-
-            if(!branch1.isPrimary() && branch2.isPrimary()) {
-                return 1;
-            }
-
-            // If One pipeline isnt a favorite there is no need to go further.
-            if(pipeline1.isFavorite() && !pipeline2.isFavorite()) {
-                return -1;
-            }
-
-            if(!pipeline1.isFavorite() && pipeline2.isFavorite()) {
-                return 1;
-            }
-
-            BlueRun latestRun1 = pipeline1.getLatestRun();
-            BlueRun latestRun2 = pipeline2.getLatestRun();
-
-            // If a pipeline doesn't have a run yet, no need to go further.
-            if(latestRun1 != null && latestRun2 == null) {
-                return -1;
-            }
-
-            if(latestRun1 == null && latestRun2 != null) {
-                return 1;
-            }
-
-            //If neither have runs, lets just order by name.
-            if(latestRun1 == null) {
-                return pipeline1.getName().compareTo(pipeline2.getName());
-            }
-
-            // If one run hasnt finished yet, then lets order by that.
-            Date endTime1 = latestRun1.getEndTime() ;
-            Date endTime2 = latestRun2.getEndTime();
-            if(endTime1 != null && endTime2 == null) {
-                return 1;
-            }
-
-            if(endTime1 == null && endTime2 != null) {
-                return -1;
-            }
-
-            // If both jobs have ended, lets order by the one that ended last.
-            if(endTime1 != null) {
-                if(endTime1.getTime() > endTime2.getTime()) {
-                    return -1;
-                }
-
-                if(endTime1.getTime() < endTime2.getTime()) {
-                    return 1;
-                }
-
-                return pipeline1.getName().compareTo(pipeline2.getName());
-            }
-
-            //If both jobs have not ended yet, we need to order by start time.
-            Date startTime1 = latestRun1.getStartTime();
-            Date startTime2 = latestRun2.getStartTime();
-            if(startTime1 != null && startTime2 == null) {
-                return 1;
-            }
-
-            if(startTime1 == null && startTime2 != null) {
-                return -1;
-            }
-
-            if(startTime1 != null && startTime2 != null) {
-                if(startTime1.getTime() > startTime2.getTime()) {
-                    return -1;
-                }
-
-                if(startTime1.getTime() < startTime2.getTime()) {
-                    return 1;
-                }
-
-                return pipeline1.getName().compareTo(pipeline2.getName());
-            }
-
-            return pipeline1.getName().compareTo(pipeline2.getName());
-        }
-    };
-
     private final MultiBranchPipelineImpl pipeline;
     private final Link self;
 
@@ -167,20 +57,32 @@ public class BranchContainerImpl extends BluePipelineContainer {
         }
         final Link link = getLink();
 
-        // Filter will decide if the requester wants branches or pull requests
-        Collection<Job> allJobsMatchinFilter = ContainerFilter.filter(pipeline.mbp.getAllJobs());
+        // Walk the branches in display order, only up to the last one of the page requested by the client
+        final MultiBranchProject mbp = pipeline.mbp;
+        Iterable<Job> jobs = () -> BranchIndex.get(mbp).names(mbp)
+            .map(name -> readableJob(mbp, name))
+            .filter(Objects::nonNull)
+            .iterator();
 
-        return allJobsMatchinFilter.stream()
-            // Transform all of these to branches (these represent branches or pull requests)
+        // Filter will decide if the requester wants branches or pull requests
+        return ContainerFilter.filter(jobs, start, limit).stream()
+            // Transform only the branches of the page (these represent branches or pull requests)
             .map( job -> (BluePipeline) new BranchImpl(organization, job, link) )
-            // Order them using the comparator
-            .sorted(BRANCH_COMPARATOR)
-            // Return the page requested by the client
-            .skip(start)
-            .limit(limit)
             .iterator();
     }
 
+    /**
+     * @return branch job of the given name, null if it is gone or the current user cannot read it
+     */
+    private static Job readableJob(MultiBranchProject mbp, String name) {
+        try {
+            return (Job) mbp.getItem(name);
+        } catch (AccessDeniedException e) {
+            // discoverable but not readable
+            return null;
+        }
+    }
+
     @Override
     public Link getLink() {
         return self;
@@ -0,0 +1,327 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.User;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.plugins.favorite.Favorites;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.branch.MultiBranchProject;
+import jenkins.scm.api.metadata.PrimaryInstanceMetadataAction;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Branch jobs of a multibranch pipeline in the order shown by {@link BranchContainerImpl}: default branch first, then
+ * favourites ordered by last run time, then all other branches ordered by last run time.
+ *
+ * The sort key of each branch is computed once, when the pipeline is first paged, then kept up to date as runs start,
+ * complete or are deleted and as branch jobs are created, updated, deleted or renamed. Pipelines no one has paged yet
+ * are not indexed by these events. Favourites are per user, so
+ * they are not part of the key: the favourites of the current user are picked out of the index while paging.
+ *
+ * The index is shared by all users and holds every branch job, whatever the permissions of the user who paged first.
+ * Callers check permissions when they get the jobs of a page.
+ */
+final class BranchIndex {
+
+    /**
+     * Branch index maximum number of multibranch pipelines. Default 1000.
+     */
+    static final long BRANCH_INDEX_CACHE_MAX_SIZE = Long.getLong("BRANCH_INDEX_CACHE_MAX_SIZE", 1000);
+
+    private static final LoadingCache<MultiBranchProject, BranchIndex> INDEXES = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(BRANCH_INDEX_CACHE_MAX_SIZE)
+            .build(BranchIndex::load);
+
+    /** Jobs without branch metadata, then the default branch, then all other branches */
+    private static final int NO_BRANCH = 0;
+    private static final int PRIMARY = 1;
+    private static final int OTHER = 2;
+
+    /** Sort key of each branch job, by name */
+    private final Map<String, Key> keys = new ConcurrentHashMap<>();
+
+    /** Sort keys in order, replaced as a whole on change so that a page walks one consistent snapshot */
+    private volatile Key[] sorted = new Key[0];
+
+    static @Nonnull BranchIndex get(@Nonnull MultiBranchProject mbp) {
+        return INDEXES.get(mbp);
+    }
+
+    /**
+     * @return index of the pipeline, null if no one has paged it yet: it is built when it is first paged
+     */
+    private static @CheckForNull BranchIndex getIfPresent(@Nonnull MultiBranchProject mbp) {
+        return INDEXES.getIfPresent(mbp);
+    }
+
+    /**
+     * @return names of the branch jobs in display order for the current user, walked lazily
+     */
+    @Nonnull Stream<String> names(@Nonnull MultiBranchProject mbp) {
+        Set<String> favorites = favorites(mbp);
+        List<Key> favoriteKeys = new ArrayList<>();
+        for (String name : favorites) {
+            Key key = keys.get(name);
+            if (key != null) {
+                favoriteKeys.add(key);
+            }
+        }
+        favoriteKeys.sort(Comparator.naturalOrder());
+
+        Key[] snapshot = sorted;
+        Stream<String> names = Stream.empty();
+        for (int group = NO_BRANCH; group <= OTHER; group++) {
+            final int g = group;
+            names = Stream.concat(names, Stream.concat(
+                favoriteKeys.stream().filter(key -> key.group == g).map(key -> key.name),
+                Arrays.stream(snapshot, indexOf(snapshot, Key.first(g)), indexOf(snapshot, Key.first(g + 1)))
+                    .filter(key -> !favorites.contains(key.name))
+                    .map(key -> key.name)));
+        }
+        return names;
+    }
+
+    /**
+     * @return index of the key in the sorted keys, or index it would be inserted at
+     */
+    private static int indexOf(Key[] sorted, Key key) {
+        int i = Arrays.binarySearch(sorted, key);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    private static Set<String> favorites(MultiBranchProject mbp) {
+        Set<String> names = new HashSet<>();
+        User user = User.current();
+        if (user != null) {
+            for (Item item : Favorites.getFavorites(user)) {
+                if (item.getParent() == mbp) {
+                    names.add(item.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Computes the key of the job again, as if the given run was already deleted.
+     */
+    private void update(@Nonnull Job job, @CheckForNull Run deleted) {
+        update(job.getName(), job, deleted);
+    }
+
+    /**
+     * Replaces the key of the job, formerly named {@code oldName}, in one change of the sorted keys.
+     */
+    private synchronized void update(@Nonnull String oldName, @Nonnull Job job, @CheckForNull Run deleted) {
+        List<Key> changed = new ArrayList<>(Arrays.asList(sorted));
+        for (String name : new String[]{oldName, job.getName()}) {
+            Key old = keys.remove(name);
+            if (old != null) {
+                changed.remove(old);
+            }
+        }
+        Key key = key(job, deleted);
+        keys.put(key.name, key);
+        int i = Collections.binarySearch(changed, key);
+        changed.add(i < 0 ? -i - 1 : i, key);
+        sorted = changed.toArray(new Key[0]);
+    }
+
+    private synchronized void remove(@Nonnull String name) {
+        Key key = keys.remove(name);
+        if (key != null) {
+            List<Key> changed = new ArrayList<>(Arrays.asList(sorted));
+            changed.remove(key);
+            sorted = changed.toArray(new Key[0]);
+        }
+    }
+
+    private static Key key(Job job, @CheckForNull Run deleted) {
+        Run last = job.getLastBuild();
+        if (last != null && last == deleted) {
+            last = last.getPreviousBuild();
+        }
+        int group;
+        if (BranchImpl.Branch.getBranch(job) == null) {
+            group = NO_BRANCH;
+        } else if (job.getAction(PrimaryInstanceMetadataAction.class) != null) {
+            group = PRIMARY;
+        } else {
+            group = OTHER;
+        }
+        return new Key(group, job.getName(), last);
+    }
+
+    private static BranchIndex load(MultiBranchProject mbp) {
+        BranchIndex index = new BranchIndex();
+        // every branch job, whoever pages first
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            for (Object item : mbp.getAllJobs()) {
+                if (item instanceof Job) {
+                    Key key = key((Job) item, null);
+                    index.keys.put(key.name, key);
+                }
+            }
+        }
+        Key[] sorted = index.keys.values().toArray(new Key[0]);
+        Arrays.sort(sorted);
+        index.sorted = sorted;
+        return index;
+    }
+
+    private static @CheckForNull MultiBranchProject parentOf(Item item) {
+        ItemGroup parent = item.getParent();
+        return parent instanceof MultiBranchProject ? (MultiBranchProject) parent : null;
+    }
+
+    /**
+     * Order of a branch within its group: branches with runs first, running ones ordered by start time, then finished
+     * ones ordered by end time, newest first, then by name.
+     */
+    private static final class Key implements Comparable<Key> {
+        private final int group;
+        private final String name;
+        private final boolean hasRun;
+        private final boolean building;
+        private final long time;
+
+        private Key(int group, String name, boolean hasRun, boolean building, long time) {
+            this.group = group;
+            this.name = name;
+            this.hasRun = hasRun;
+            this.building = building;
+            this.time = time;
+        }
+
+        private Key(int group, String name, @CheckForNull Run last) {
+            this(group, name, last != null, last != null && last.isBuilding(),
+                 last == null ? 0 : last.isBuilding() ? last.getStartTimeInMillis()
+                                                      : last.getStartTimeInMillis() + last.getDuration());
+        }
+
+        /** Lower bound of a group */
+        private static Key first(int group) {
+            return new Key(group, "", true, true, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            if (group != o.group) {
+                return Integer.compare(group, o.group);
+            }
+            if (hasRun != o.hasRun) {
+                return hasRun ? -1 : 1;
+            }
+            if (building != o.building) {
+                return building ? -1 : 1;
+            }
+            if (time != o.time) {
+                return time > o.time ? -1 : 1;
+            }
+            return name.compareTo(o.name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onStarted(Run<?, ?> run, TaskListener listener) {
+            update(run, null);
+        }
+
+        @Override
+        public void onCompleted(Run<?, ?> run, @Nonnull TaskListener listener) {
+            update(run, null);
+        }
+
+        @Override
+        public void onFinalized(Run<?, ?> run) {
+            update(run, null);
+        }
+
+        @Override
+        public void onDeleted(Run<?, ?> run) {
+            update(run, run);
+        }
+
+        private void update(Run<?, ?> run, Run<?, ?> deleted) {
+            Job job = run.getParent();
+            MultiBranchProject mbp = parentOf(job);
+            BranchIndex index = mbp == null ? null : getIfPresent(mbp);
+            if (index != null) {
+                index.update(job, deleted);
+            }
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onCreated(Item item) {
+            update(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            update(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchIndex index = mbp == null ? null : getIfPresent(mbp);
+            if (index != null) {
+                index.remove(item.getName());
+            }
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchIndex index = mbp == null ? null : getIfPresent(mbp);
+            if (index != null && item instanceof Job) {
+                index.update(oldFullName.substring(oldFullName.lastIndexOf('/') + 1), (Job) item, null);
+            }
+        }
+
+        private void update(Item item) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchIndex index = mbp == null ? null : getIfPresent(mbp);
+            if (index != null && item instanceof Job) {
+                index.update((Job) item, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.branch.MultiBranchProject;
+import jenkins.model.Jenkins;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.jenkins.blueocean.rest.impl.pipeline.PipelineJobFilters.isPullRequest;
+
+/**
+ * Number of branches and pull requests of a multibranch pipeline, in total and by result of their last run, as shown
+ * by {@link MultiBranchPipelineImpl}.
+ *
+ * Counted with one pass over the branch jobs the first time a pipeline is shown, then kept up to date as runs start,
+ * complete or are deleted and as branch jobs are created, deleted or renamed. Pipelines no one has shown yet are not
+ * counted by these events. Nothing is persisted: after a restart
+ * the counters are counted again from the jobs.
+ *
+ * The status of every branch job is kept, whatever the permissions of the user who first showed the pipeline. Counts
+ * are per user, of the branch jobs the user can read: administrators, who can read all jobs, get the kept totals,
+ * other users get the kept statuses of their readable jobs added up, without loading any run.
+ */
+final class BranchStatusCounters {
+
+    /**
+     * Branch status counters maximum number of multibranch pipelines. Default 1000.
+     */
+    static final long BRANCH_STATUS_CACHE_MAX_SIZE = Long.getLong("BRANCH_STATUS_CACHE_MAX_SIZE", 1000);
+
+    private static final LoadingCache<MultiBranchProject, BranchStatusCounters> COUNTERS = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(BRANCH_STATUS_CACHE_MAX_SIZE)
+            .build(BranchStatusCounters::load);
+
+    private static final int TOTAL = 0;
+    private static final int FAILURE = 1;
+    private static final int SUCCESS = 2;
+
+    /** Status of each branch job, by name */
+    private final Map<String, Status> statuses = new HashMap<>();
+
+    /** Totals, failures and successes of branches followed by the same for pull requests */
+    private final int[] counts = new int[6];
+
+    /**
+     * @return counters of the pipeline, null if no one has shown it yet: they are counted when it is first shown
+     */
+    private static @CheckForNull BranchStatusCounters getIfPresent(@Nonnull MultiBranchProject mbp) {
+        return COUNTERS.getIfPresent(mbp);
+    }
+
+    /**
+     * @return counts of the branch jobs of the pipeline that the current user can read
+     */
+    static @Nonnull Counts readable(@Nonnull MultiBranchProject mbp) {
+        BranchStatusCounters counters = COUNTERS.get(mbp);
+        if (Jenkins.get().hasPermission(Jenkins.ADMINISTER)) {
+            synchronized (counters) {
+                return new Counts(counters.counts.clone());
+            }
+        }
+        int[] counts = new int[6];
+        // items the current user can read
+        for (Object item : mbp.getItems()) {
+            Status status;
+            synchronized (counters) {
+                status = counters.statuses.get(((Item) item).getName());
+            }
+            if (status != null) {
+                status.count(counts, 1);
+            }
+        }
+        return new Counts(counts);
+    }
+
+    /**
+     * Counts the job again, as if the given run was already deleted.
+     */
+    private synchronized void update(@Nonnull Job job, @CheckForNull Run deleted) {
+        Run last = job.getLastBuild();
+        if (last != null && last == deleted) {
+            last = last.getPreviousBuild();
+        }
+        add(job.getName(), new Status(isPullRequest(job), last == null ? null : last.getResult()));
+    }
+
+    private synchronized void remove(@Nonnull String name) {
+        Status status = statuses.remove(name);
+        if (status != null) {
+            status.count(counts, -1);
+        }
+    }
+
+    private void add(String name, Status status) {
+        remove(name);
+        statuses.put(name, status);
+        status.count(counts, 1);
+    }
+
+    private static int index(boolean pullRequest, int column) {
+        return (pullRequest ? 3 : 0) + column;
+    }
+
+    private static BranchStatusCounters load(MultiBranchProject mbp) {
+        BranchStatusCounters counters = new BranchStatusCounters();
+        // every branch job, whoever shows the pipeline first
+        try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+            for (Object item : mbp.getAllJobs()) {
+                if (item instanceof Job) {
+                    counters.update((Job) item, null);
+                }
+            }
+        }
+        return counters;
+    }
+
+    private static @CheckForNull MultiBranchProject parentOf(Item item) {
+        ItemGroup parent = item.getParent();
+        return parent instanceof MultiBranchProject ? (MultiBranchProject) parent : null;
+    }
+
+    /**
+     * Counts of one user at one time.
+     */
+    static final class Counts {
+        /** Totals, failures and successes of branches followed by the same for pull requests */
+        private final int[] counts;
+
+        private Counts(int[] counts) {
+            this.counts = counts;
+        }
+
+        int getTotal(boolean pullRequests) {
+            return counts[index(pullRequests, TOTAL)];
+        }
+
+        /**
+         * @return number of branches or pull requests whose last run has the given result, 0 for results other than
+         * failure and success
+         */
+        int getCount(@Nonnull Result result, boolean pullRequests) {
+            if (result == Result.FAILURE) {
+                return counts[index(pullRequests, FAILURE)];
+            } else if (result == Result.SUCCESS) {
+                return counts[index(pullRequests, SUCCESS)];
+            }
+            return 0;
+        }
+    }
+
+    private static final class Status {
+        private final boolean pullRequest;
+        private final Result result;
+
+        private Status(boolean pullRequest, @CheckForNull Result result) {
+            this.pullRequest = pullRequest;
+            this.result = result;
+        }
+
+        private void count(int[] counts, int delta) {
+            counts[index(pullRequest, TOTAL)] += delta;
+            if (result == Result.FAILURE) {
+                counts[index(pullRequest, FAILURE)] += delta;
+            } else if (result == Result.SUCCESS) {
+                counts[index(pullRequest, SUCCESS)] += delta;
+            }
+        }
+    }
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onStarted(Run<?, ?> run, TaskListener listener) {
+            update(run, null);
+        }
+
+        @Override
+        public void onCompleted(Run<?, ?> run, @Nonnull TaskListener listener) {
+            update(run, null);
+        }
+
+        @Override
+        public void onDeleted(Run<?, ?> run) {
+            update(run, run);
+        }
+
+        private void update(Run<?, ?> run, Run<?, ?> deleted) {
+            Job job = run.getParent();
+            MultiBranchProject mbp = parentOf(job);
+            BranchStatusCounters counters = mbp == null ? null : getIfPresent(mbp);
+            if (counters != null) {
+                counters.update(job, deleted);
+            }
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onCreated(Item item) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchStatusCounters counters = mbp == null ? null : getIfPresent(mbp);
+            if (counters != null && item instanceof Job) {
+                counters.update((Job) item, null);
+            }
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchStatusCounters counters = mbp == null ? null : getIfPresent(mbp);
+            if (counters != null) {
+                counters.remove(item.getName());
+            }
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            MultiBranchProject mbp = parentOf(item);
+            BranchStatusCounters counters = mbp == null ? null : getIfPresent(mbp);
+            if (counters != null && item instanceof Job) {
+                synchronized (counters) {
+                    counters.remove(oldFullName.substring(oldFullName.lastIndexOf('/') + 1));
+                    counters.update((Job) item, null);
+                }
+            }
+        }
+    }
+}
@@ -5,7 +5,6 @@ import hudson.Extension;
 import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.Result;
-import hudson.model.Run;
 import io.jenkins.blueocean.commons.ServiceException;
 import io.jenkins.blueocean.rest.Navigable;
 import io.jenkins.blueocean.rest.Reachable;
@@ -51,7 +50,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
-import static io.jenkins.blueocean.rest.impl.pipeline.PipelineJobFilters.isPullRequest;
 import static io.jenkins.blueocean.rest.model.KnownCapabilities.BLUE_SCM;
 import static io.jenkins.blueocean.rest.model.KnownCapabilities.JENKINS_MULTI_BRANCH_PROJECT;
 
@@ -66,6 +64,9 @@ public class MultiBranchPipelineImpl extends BlueMultiBranchPipeline {
     private final BlueOrganization organization;
     private String scriptPath = "Jenkinsfile";
 
+    /** Branch counts of the current user, counted once for all the count getters */
+    private BranchStatusCounters.Counts counts;
+
     public MultiBranchPipelineImpl(BlueOrganization organization, MultiBranchProject mbp) {
         this.mbp = mbp;
         this.organization = organization;
@@ -139,34 +140,41 @@ public class MultiBranchPipelineImpl extends BlueMultiBranchPipeline {
         return AbstractPipelineImpl.getFullDisplayName(organization, mbp);
     }
 
+    private BranchStatusCounters.Counts counts() {
+        if (counts == null) {
+            counts = BranchStatusCounters.readable(mbp);
+        }
+        return counts;
+    }
+
     @Override
     public int getTotalNumberOfBranches() {
-        return countJobs(false);
+        return counts().getTotal(false);
     }
 
     @Override
     public int getNumberOfFailingBranches() {
-        return countRunStatus(Result.FAILURE, false);
+        return counts().getCount(Result.FAILURE, false);
     }
 
     @Override
     public int getNumberOfSuccessfulBranches() {
-        return countRunStatus(Result.SUCCESS, false);
+        return counts().getCount(Result.SUCCESS, false);
     }
 
     @Override
     public int getTotalNumberOfPullRequests() {
-        return countJobs(true);
+        return counts().getTotal(true);
     }
 
     @Override
     public int getNumberOfFailingPullRequests() {
-        return countRunStatus(Result.FAILURE, true);
+        return counts().getCount(Result.FAILURE, true);
     }
 
     @Override
     public int getNumberOfSuccessfulPullRequests() {
-        return countRunStatus(Result.SUCCESS, true);
+        return counts().getCount(Result.SUCCESS, true);
     }
 
     @Override
@@ -215,35 +223,6 @@ public class MultiBranchPipelineImpl extends BlueMultiBranchPipeline {
 
     }
 
-    private int countRunStatus(Result result, boolean pullRequests) {
-        Collection<Job> jobs = mbp.getAllJobs();
-        int count = 0;
-        for (Job j : jobs) {
-            if (pullRequests && isPullRequest(j) || !pullRequests && !isPullRequest(j)) {
-                j.getBuildStatusUrl();
-                Run run = j.getLastBuild();
-                if (run != null && run.getResult() == result) {
-                    count++;
-                }
-            }
-        }
-        return count;
-    }
-
-    private int countJobs(boolean pullRequests) {
-        Collection<Job> jobs = mbp.getAllJobs();
-        int counter = 0;
-
-        for (Job job : jobs) {
-            if (pullRequests && isPullRequest(job) || !pullRequests && !isPullRequest(job)) {
-                counter += 1;
-            }
-        }
-
-        return counter;
-    }
-
-
     @Override
     public BlueRunContainer getRuns() {
         return new MultibranchPipelineRunContainer(this);
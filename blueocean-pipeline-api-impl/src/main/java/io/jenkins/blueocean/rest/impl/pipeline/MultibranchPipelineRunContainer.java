@@ -3,6 +3,7 @@ package io.jenkins.blueocean.rest.impl.pipeline;
 import hudson.model.Cause;
 import hudson.model.CauseAction;
 import hudson.model.Item;
+import hudson.model.Job;
 import hudson.model.Queue;
 import io.jenkins.blueocean.commons.ServiceException;
 import io.jenkins.blueocean.rest.Utils;
@@ -17,12 +18,12 @@ import org.kohsuke.stapler.StaplerRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-import static io.jenkins.blueocean.rest.impl.pipeline.PipelineRunImpl.LATEST_RUN_START_TIME_COMPARATOR;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 
 /**
  * @author Vivek Pandey
@@ -55,14 +56,13 @@ public class MultibranchPipelineRunContainer extends BlueRunContainer{
     }
 
     /**
-     * Fetches maximum up to  MAX_MBP_RUNS_ROWS rows from each branch and does pagination on that.
+     * Merges the runs of all branches, newest first, fetching maximum up to MAX_MBP_RUNS_ROWS rows from each branch.
+     * Runs are loaded lazily, so a page only loads the runs it skips over and shows, plus the next run of each branch.
      *
      * JVM property MAX_MBP_RUNS_ROWS can be used to tune this value to optimize performance for given setup
      */
     @Override
     public Iterator<BlueRun> iterator(int start, int limit) {
-        List<BlueRun> c = new ArrayList<>();
-
         List<BluePipeline> branches;
 
         // Check for branch filter
@@ -80,31 +80,20 @@ public class MultibranchPipelineRunContainer extends BlueRunContainer{
                 branches = Collections.emptyList();
             }
         } else {
-            branches = StreamSupport.stream(blueMbPipeline.getBranches().spliterator(), false)
-                .collect( Collectors.toList());
-            sortBranchesByLatestRun(branches);
-        }
-
-        for (final BluePipeline b : branches) {
-            BlueRunContainer blueRunContainer = b.getRuns();
-            if(blueRunContainer==null){
-                continue;
-            }
-            Iterator<BlueRun> it = blueRunContainer.iterator(0, MAX_MBP_RUNS_ROWS);
-            int count = 0;
-            Utils.skip(it, start);
-            while (it.hasNext() && count++ < limit) {
-                c.add(it.next());
+            Link branchesLink = blueMbPipeline.getBranches().getLink();
+            branches = new ArrayList<>();
+            for (Object job : blueMbPipeline.mbp.getAllJobs()) {
+                branches.add(new BranchImpl(blueMbPipeline.getOrganization(), (Job) job, branchesLink));
             }
         }
 
-        c.sort(LATEST_RUN_START_TIME_COMPARATOR);
-
-        return c.stream().limit(limit).iterator();
-    }
-
-    static void sortBranchesByLatestRun(List<BluePipeline> branches) {
-        branches.sort(( o1, o2 ) -> LATEST_RUN_START_TIME_COMPARATOR.compare(o1.getLatestRun(), o2.getLatestRun()));
+        Iterator<BlueRun> runs = new MergedRunIterator(branches);
+        Utils.skip(runs, start);
+        List<BlueRun> c = new ArrayList<>();
+        while (runs.hasNext() && c.size() < limit) {
+            c.add(runs.next());
+        }
+        return c.iterator();
     }
 
     @Override
@@ -122,4 +111,89 @@ public class MultibranchPipelineRunContainer extends BlueRunContainer{
         ).toRun();
     }
 
+    /**
+     * Runs of several branches, newest first, merged with a priority queue holding the next run of each branch. Runs
+     * with the same start time are ordered by branch name, so consecutive pages neither repeat nor miss runs. Runs that
+     * have not started, like queued items, come last.
+     */
+    private static final class MergedRunIterator implements Iterator<BlueRun> {
+        private static final Comparator<BranchRuns> NEXT_RUN_COMPARATOR =
+            Comparator.<BranchRuns>comparingLong(b -> -b.startTime).thenComparing(b -> b.branch);
+
+        private final PriorityQueue<BranchRuns> branches = new PriorityQueue<>(NEXT_RUN_COMPARATOR);
+        private final List<BlueRun> notStarted = new ArrayList<>();
+        private int notStartedIndex;
+
+        private MergedRunIterator(List<BluePipeline> pipelines) {
+            for (BluePipeline pipeline : pipelines) {
+                BlueRunContainer blueRunContainer = pipeline.getRuns();
+                if (blueRunContainer == null) {
+                    continue;
+                }
+                BranchRuns branch = new BranchRuns(pipeline.getName(), blueRunContainer.iterator());
+                if (branch.advance(notStarted)) {
+                    branches.add(branch);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !branches.isEmpty() || notStartedIndex < notStarted.size();
+        }
+
+        @Override
+        public BlueRun next() {
+            BranchRuns branch = branches.poll();
+            if (branch != null) {
+                BlueRun run = branch.run;
+                if (branch.advance(notStarted)) {
+                    branches.add(branch);
+                }
+                return run;
+            }
+            if (notStartedIndex < notStarted.size()) {
+                return notStarted.get(notStartedIndex++);
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Next started run of a branch, newest first.
+     */
+    private static final class BranchRuns {
+        private final String branch;
+        private final Iterator<BlueRun> runs;
+        private int remaining = MAX_MBP_RUNS_ROWS;
+        private BlueRun run;
+        private long startTime;
+
+        private BranchRuns(String branch, Iterator<BlueRun> runs) {
+            this.branch = branch;
+            this.runs = runs;
+        }
+
+        /**
+         * Moves to the next started run, setting aside the runs that have not started.
+         *
+         * @return false if the branch has no more runs
+         */
+        private boolean advance(List<BlueRun> notStarted) {
+            while (remaining > 0 && runs.hasNext()) {
+                remaining--;
+                BlueRun next = runs.next();
+                Date time = next.getStartTime();
+                if (time == null) {
+                    notStarted.add(next);
+                } else {
+                    run = next;
+                    startTime = time.getTime();
+                    return true;
+                }
+            }
+            run = null;
+            return false;
+        }
+    }
 }
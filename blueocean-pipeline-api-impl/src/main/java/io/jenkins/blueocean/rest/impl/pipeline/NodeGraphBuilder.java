@@ -36,7 +36,12 @@ public interface NodeGraphBuilder {
     // to use alternative implementation in future
     final class NodeGraphBuilderFactory{
         public static NodeGraphBuilder getInstance(WorkflowRun run){
-            return new PipelineNodeGraphVisitor(run);
+            return NodeGraphCache.get(run);
+        }
+
+        /** Drops the cached graph of the given run, to be called when FlowNodes of a completed run are changed */
+        public static void invalidate(WorkflowRun run){
+            NodeGraphCache.invalidate(run);
         }
     }
 }
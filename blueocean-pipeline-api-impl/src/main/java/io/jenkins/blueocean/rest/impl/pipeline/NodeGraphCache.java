@@ -0,0 +1,158 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.flow.GraphListener;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per run cache of {@link PipelineNodeGraphVisitor}, so that viewers of the same run share one graph walk. Graphs are
+ * walked outside of the cache and then put in it, so a walk never holds up lookups of other runs; viewers missing the
+ * cache at the same time may each walk the graph.
+ *
+ * The graph of a completed run never changes, it is kept until evicted and persisted as a
+ * {@link PipelineNodeGraphSnapshot} so that it is not walked again after eviction or a restart. The graph of an
+ * in-progress run is walked again only once {@link GraphListener#onNewHead(FlowNode)} reported new nodes or the cached
+ * graph is older than {@link #RUNNING_MAX_AGE_MILLIS}, since durations and causes of blockage move without new heads
+ * being added. A run that completes is walked once more by {@link RunListenerImpl}, and that graph is both cached and
+ * persisted, and gives the row of the run in the {@link StageDurationTable}.
+ *
+ * @see NodeGraphBuilder.NodeGraphBuilderFactory
+ */
+final class NodeGraphCache {
+
+    /**
+     * Node graph cache maximum number of entries. Default 100.
+     */
+    static final long NODE_GRAPH_CACHE_MAX_SIZE = Long.getLong("NODE_GRAPH_CACHE_MAX_SIZE", 100);
+
+    /**
+     * Maximum age of the cached graph of an in-progress run, in milliseconds. Default 1000.
+     */
+    static final long RUNNING_MAX_AGE_MILLIS = Long.getLong("NODE_GRAPH_CACHE_RUNNING_MAX_AGE_MILLIS", 1000);
+
+    /**
+     * Set to true to walk the flow graph on every request, without reading or writing graph snapshots.
+     */
+    static final boolean DISABLED = Boolean.getBoolean("NODE_GRAPH_CACHE_DISABLED");
+
+    private static final Cache<String, Entry> GRAPHS = Caffeine.newBuilder()
+            .maximumSize(NODE_GRAPH_CACHE_MAX_SIZE)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    /** Number of heads seen so far per execution, used to tell whether a cached graph is still current */
+    private static final Cache<FlowExecution, AtomicLong> GENERATIONS = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    static NodeGraphBuilder get(@Nonnull WorkflowRun run) {
+        FlowExecution execution = run.getExecution();
+        if (DISABLED || execution == null) {
+            return new PipelineNodeGraphVisitor(run);
+        }
+        boolean completed = !run.isBuilding();
+        // read the generation before walking, a head added during the walk makes the entry stale right away
+        long generation = generation(execution).get();
+        Entry cached = GRAPHS.getIfPresent(run.getExternalizableId());
+        if (cached != null && cached.isCurrent(completed, generation)) {
+            return cached.graph;
+        }
+        return put(run, completed ? completedGraph(run) : new PipelineNodeGraphVisitor(run), completed, generation);
+    }
+
+    /**
+     * Walks the graph of a run that just completed, replacing the graph cached or persisted while it was running.
+     */
+    static void completed(@Nonnull WorkflowRun run) {
+        FlowExecution execution = run.getExecution();
+        if (DISABLED || execution == null || !execution.isComplete()) {
+            return;
+        }
+        long generation = generation(execution).get();
+        invalidate(run);
+        // the run may not be marked as done building yet, so the completed graph is walked here rather than by get
+        put(run, completedGraph(run), true, generation);
+    }
+
+    private static NodeGraphBuilder put(WorkflowRun run, NodeGraphBuilder graph, boolean completed, long generation) {
+        GRAPHS.put(run.getExternalizableId(), new Entry(graph, completed, generation));
+        return graph;
+    }
+
+    private static NodeGraphBuilder completedGraph(@Nonnull WorkflowRun run) {
+        NodeGraphBuilder snapshot = PipelineNodeGraphSnapshot.load(run);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        PipelineNodeGraphVisitor graph = new PipelineNodeGraphVisitor(run);
+        PipelineNodeGraphSnapshot.save(run, graph.getPipelineNodes());
+        return graph;
+    }
+
+    static void invalidate(@Nonnull Run run) {
+        GRAPHS.invalidate(run.getExternalizableId());
+        PipelineNodeGraphSnapshot.delete(run);
+    }
+
+    private static AtomicLong generation(@Nonnull FlowExecution execution) {
+        return GENERATIONS.get(execution, e -> new AtomicLong());
+    }
+
+    private static final class Entry {
+        private final NodeGraphBuilder graph;
+        private final boolean completed;
+        private final long generation;
+        private final long created = System.currentTimeMillis();
+
+        private Entry(NodeGraphBuilder graph, boolean completed, long generation) {
+            this.graph = graph;
+            this.completed = completed;
+            this.generation = generation;
+        }
+
+        private boolean isCurrent(boolean runCompleted, long currentGeneration) {
+            if (completed) {
+                return true;
+            }
+            return !runCompleted
+                && generation == currentGeneration
+                && System.currentTimeMillis() - created < RUNNING_MAX_AGE_MILLIS;
+        }
+    }
+
+    @Extension
+    public static class GraphListenerImpl implements GraphListener.Synchronous {
+        @Override
+        public void onNewHead(FlowNode node) {
+            generation(node.getExecution()).incrementAndGet();
+        }
+    }
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<WorkflowRun> {
+        @Override
+        public void onCompleted(WorkflowRun run, @Nonnull TaskListener listener) {
+            completed(run);
+            // read from the graph cached just above
+            StageDurationTable.record(run);
+        }
+
+        @Override
+        public void onDeleted(WorkflowRun run) {
+            invalidate(run);
+        }
+    }
+
+    private NodeGraphCache() {}
+}
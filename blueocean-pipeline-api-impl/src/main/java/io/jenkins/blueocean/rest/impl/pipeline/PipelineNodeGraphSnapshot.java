@@ -0,0 +1,250 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import hudson.XmlFile;
+import hudson.model.Action;
+import hudson.model.Run;
+import io.jenkins.blueocean.listeners.NodeDownstreamBuildAction;
+import io.jenkins.blueocean.rest.hal.Link;
+import io.jenkins.blueocean.rest.model.BluePipelineNode;
+import io.jenkins.blueocean.rest.model.BluePipelineStep;
+import io.jenkins.blueocean.rest.model.BlueRun;
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.pipelinegraphanalysis.TimingInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Stage and parallel graph of a completed run, persisted as {@value #FILE_NAME} next to <code>build.xml</code>.
+ *
+ * The graph of a completed run never changes, so it is saved once and read back instead of walking the flow graph
+ * again. Only the graph is kept, {@link FlowNode}s are looked up by id when the snapshot is loaded and steps are still
+ * collected from the flow graph. A snapshot written with a different {@link #VERSION} is ignored and the graph is
+ * walked again.
+ *
+ * @see NodeGraphCache
+ */
+final class PipelineNodeGraphSnapshot implements NodeGraphBuilder {
+
+    static final String FILE_NAME = "blueocean-nodes.xml";
+
+    /** Bump whenever the persisted form changes */
+    static final int VERSION = 1;
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineNodeGraphSnapshot.class);
+
+    private final WorkflowRun run;
+    private final List<FlowNodeWrapper> nodes;
+    private final PipelineStepIndex stepIndex;
+
+    private PipelineNodeGraphSnapshot(WorkflowRun run, List<FlowNodeWrapper> nodes) {
+        this.run = run;
+        this.nodes = nodes;
+        this.stepIndex = new PipelineStepIndex(run);
+    }
+
+    @Override
+    public List<FlowNodeWrapper> getPipelineNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    @Override
+    public List<BluePipelineNode> getPipelineNodes(final Link parent) {
+        return nodes.stream()
+                    .map(n -> new PipelineNodeImpl(n, () -> parent, run))
+                    .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BluePipelineStep> getPipelineNodeSteps(String nodeId, Link parent) {
+        return stepIndex.getSteps(nodeId)
+                        .stream()
+                        .map(node -> new PipelineStepImpl(node, parent))
+                        .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BluePipelineStep> getPipelineNodeSteps(Link parent) {
+        return stepIndex.getSteps()
+                        .stream()
+                        .map(node -> new PipelineStepImpl(node, parent))
+                        .collect(Collectors.toList());
+    }
+
+    @Override
+    public BluePipelineStep getPipelineNodeStep(String id, Link parent) {
+        FlowNodeWrapper node = stepIndex.getStep(id);
+        if (node == null) {
+            return null;
+        }
+        return new PipelineStepImpl(node, parent);
+    }
+
+    @Override
+    public List<BluePipelineNode> union(List<FlowNodeWrapper> lastBuildGraph, Link parent) {
+        return PipelineNodeGraphVisitor.union(nodes, lastBuildGraph, run, parent);
+    }
+
+    /**
+     * Loads the snapshot of the given run.
+     *
+     * @return null if there is no snapshot, it was written by another version or it does not match the flow graph
+     */
+    static @CheckForNull PipelineNodeGraphSnapshot load(@Nonnull WorkflowRun run) {
+        XmlFile file = getFile(run);
+        if (!file.exists()) {
+            return null;
+        }
+        FlowExecution execution = run.getExecution();
+        if (execution == null) {
+            return null;
+        }
+        try {
+            Graph graph = (Graph) file.read();
+            if (graph.version != VERSION || graph.nodes == null) {
+                return null;
+            }
+            Map<String, FlowNodeWrapper> wrappers = new HashMap<>();
+            List<FlowNodeWrapper> nodes = new ArrayList<>(graph.nodes.size());
+            for (Node n : graph.nodes) {
+                FlowNode node = n.synthetic ? syntheticNode(execution, n) : execution.getNode(n.id);
+                if (node == null) {
+                    return null;
+                }
+                FlowNodeWrapper wrapper = new FlowNodeWrapper(node,
+                                                              new NodeRunStatus(n.result, n.state),
+                                                              new TimingInfo(n.durationMillis, n.pauseDurationMillis, n.startTimeMillis),
+                                                              run);
+                wrapper.setCauseOfFailure(n.causeOfFailure);
+                wrapper.setPipelineActions(n.actions == null ? new ArrayList<>() : new ArrayList<>(n.actions));
+                wrappers.put(n.id, wrapper);
+                nodes.add(wrapper);
+            }
+            for (Node n : graph.nodes) {
+                FlowNodeWrapper wrapper = wrappers.get(n.id);
+                if (!link(wrapper.edges, n.edges, wrappers) || !link(wrapper.getParents(), n.parents, wrappers)) {
+                    return null;
+                }
+            }
+            return new PipelineNodeGraphSnapshot(run, nodes);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable node graph snapshot of run " + run.getExternalizableId() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Saves the graph of a completed run, failures are logged and otherwise ignored.
+     */
+    static void save(@Nonnull WorkflowRun run, @Nonnull List<FlowNodeWrapper> nodes) {
+        Graph graph = new Graph();
+        graph.version = VERSION;
+        graph.nodes = new ArrayList<>(nodes.size());
+        for (FlowNodeWrapper wrapper : nodes) {
+            Node n = new Node();
+            n.id = wrapper.getId();
+            if (wrapper.getNode() instanceof PipelineNodeGraphVisitor.ParallelSyntheticNode) {
+                n.synthetic = true;
+                n.flowNodeParents = new ArrayList<>(wrapper.getNode().getParentIds());
+            }
+            NodeRunStatus status = wrapper.getStatus();
+            n.result = status.result;
+            n.state = status.state;
+            TimingInfo timing = wrapper.getTiming();
+            n.startTimeMillis = timing.getStartTimeMillis();
+            n.durationMillis = timing.getTotalDurationMillis();
+            n.pauseDurationMillis = timing.getPauseDurationMillis();
+            n.causeOfFailure = wrapper.getCauseOfFailure();
+            n.parents = ids(wrapper.getParents());
+            n.edges = ids(wrapper.edges);
+            n.actions = new ArrayList<>(wrapper.getPipelineActions(NodeDownstreamBuildAction.class));
+            graph.nodes.add(n);
+        }
+        try {
+            getFile(run).write(graph);
+        } catch (IOException e) {
+            logger.warn("Failed to save node graph snapshot of run " + run.getExternalizableId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    static void delete(@Nonnull Run run) {
+        File file = getFile(run).getFile();
+        if (file.exists() && !file.delete()) {
+            logger.warn("Failed to delete node graph snapshot " + file);
+        }
+    }
+
+    private static XmlFile getFile(Run run) {
+        return new XmlFile(Run.XSTREAM2, new File(run.getRootDir(), FILE_NAME));
+    }
+
+    private static FlowNode syntheticNode(FlowExecution execution, Node n) throws IOException {
+        List<FlowNode> parents = new ArrayList<>();
+        if (n.flowNodeParents != null) {
+            for (String id : n.flowNodeParents) {
+                FlowNode parent = execution.getNode(id);
+                if (parent == null) {
+                    return null;
+                }
+                parents.add(parent);
+            }
+        }
+        return new PipelineNodeGraphVisitor.ParallelSyntheticNode(execution, n.id, parents);
+    }
+
+    private static List<String> ids(List<FlowNodeWrapper> wrappers) {
+        List<String> ids = new ArrayList<>(wrappers.size());
+        for (FlowNodeWrapper wrapper : wrappers) {
+            ids.add(wrapper.getId());
+        }
+        return ids;
+    }
+
+    private static boolean link(List<FlowNodeWrapper> target, List<String> ids, Map<String, FlowNodeWrapper> wrappers) {
+        if (ids == null) {
+            return true;
+        }
+        for (String id : ids) {
+            FlowNodeWrapper wrapper = wrappers.get(id);
+            if (wrapper == null) {
+                return false;
+            }
+            target.add(wrapper);
+        }
+        return true;
+    }
+
+    /** Persisted form of the graph */
+    static final class Graph {
+        int version;
+        List<Node> nodes;
+    }
+
+    /** Persisted form of a {@link FlowNodeWrapper} */
+    static final class Node {
+        String id;
+        /** the node is a {@link PipelineNodeGraphVisitor.ParallelSyntheticNode}, not part of the flow graph */
+        boolean synthetic;
+        List<String> flowNodeParents;
+        BlueRun.BlueRunResult result;
+        BlueRun.BlueRunState state;
+        long startTimeMillis;
+        long durationMillis;
+        long pauseDurationMillis;
+        String causeOfFailure;
+        List<String> parents;
+        List<String> edges;
+        List<Action> actions;
+    }
+}
@@ -18,7 +18,6 @@ import org.jenkinsci.plugins.workflow.flow.FlowExecution;
 import org.jenkinsci.plugins.workflow.graph.BlockEndNode;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.graph.FlowStartNode;
-import org.jenkinsci.plugins.workflow.graphanalysis.DepthFirstScanner;
 import org.jenkinsci.plugins.workflow.graphanalysis.ForkScanner;
 import org.jenkinsci.plugins.workflow.graphanalysis.MemoryFlowChunk;
 import org.jenkinsci.plugins.workflow.graphanalysis.StandardChunkVisitor;
@@ -105,8 +104,11 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
 
     private final boolean declarative;
 
+    private final PipelineStepIndex stepIndex;
+
     public PipelineNodeGraphVisitor(WorkflowRun run) {
         this.run = run;
+        this.stepIndex = new PipelineStepIndex(run);
         this.inputAction = run.getAction(InputAction.class);
         this.pipelineActions = new HashSet<>();
         this.pendingActionsForBranches = new HashMap<>();
@@ -598,53 +600,23 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
 
     @Override
     public List<BluePipelineStep> getPipelineNodeSteps(final String nodeId, Link parent) {
-        FlowExecution execution = run.getExecution();
-        if (execution == null) {
-            logger.debug(String.format("Pipeline %s, runid %s  has null execution", run.getParent().getName(), run.getId()));
-            return Collections.emptyList();
-        }
-        DepthFirstScanner depthFirstScanner = new DepthFirstScanner();
-        //If blocked scope, get the end node
-        FlowNode n = depthFirstScanner
-            .findFirstMatch(execution.getCurrentHeads(),
-                            input -> (input != null
-                                && input.getId().equals(nodeId)
-                                && (PipelineNodeUtil.isStage(input) || PipelineNodeUtil.isParallelBranch(input))));
-
-        if (n == null) { //if no node found or the node is not stage or parallel we return empty steps
-            return Collections.emptyList();
-        }
-        PipelineStepVisitor visitor = new PipelineStepVisitor(run, n);
-        ForkScanner.visitSimpleChunks(execution.getCurrentHeads(), visitor, new StageChunkFinder());
-        return visitor.getSteps()
-                      .stream()
-                      .map(node -> new PipelineStepImpl(node, parent))
-                      .collect(Collectors.toList());
+        return stepIndex.getSteps(nodeId)
+                        .stream()
+                        .map(node -> new PipelineStepImpl(node, parent))
+                        .collect(Collectors.toList());
     }
 
     @Override
     public List<BluePipelineStep> getPipelineNodeSteps(Link parent) {
-        FlowExecution execution = run.getExecution();
-        if (execution == null) {
-            return Collections.emptyList();
-        }
-        PipelineStepVisitor visitor = new PipelineStepVisitor(run, null);
-        ForkScanner.visitSimpleChunks(execution.getCurrentHeads(), visitor, new StageChunkFinder());
-        return visitor.getSteps()
-                      .stream()
-                      .map(node -> new PipelineStepImpl(node, parent))
-                      .collect(Collectors.toList());
+        return stepIndex.getSteps()
+                        .stream()
+                        .map(node -> new PipelineStepImpl(node, parent))
+                        .collect(Collectors.toList());
     }
 
     @Override
     public BluePipelineStep getPipelineNodeStep(String id, Link parent) {
-        FlowExecution execution = run.getExecution();
-        if (execution == null) {
-            return null;
-        }
-        PipelineStepVisitor visitor = new PipelineStepVisitor(run, null);
-        ForkScanner.visitSimpleChunks(execution.getCurrentHeads(), visitor, new StageChunkFinder());
-        FlowNodeWrapper node = visitor.getStep(id);
+        FlowNodeWrapper node = stepIndex.getStep(id);
         if (node == null) {
             return null;
         }
@@ -681,6 +653,15 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
 
     @Override
     public List<BluePipelineNode> union(List<FlowNodeWrapper> previousNodes, final Link parent) {
+        return union(nodes, previousNodes, run, parent);
+    }
+
+    /**
+     * Union of the given nodes of a run with the nodes of a previous run, shared with graphs that were not built by
+     * walking the flow graph.
+     */
+    static List<BluePipelineNode> union(Collection<FlowNodeWrapper> nodes, List<FlowNodeWrapper> previousNodes,
+                                        WorkflowRun run, final Link parent) {
 
         boolean graphsAreCompatible = true;
 
@@ -780,7 +761,9 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
         }
 
         // Fallback for when the graphs cannot be merged
-        return this.getPipelineNodes(parent);
+        return nodes.stream()
+                    .map(n -> new PipelineNodeImpl(n, () -> parent, run))
+                    .collect(Collectors.toList());
     }
 
     private void captureOrphanParallelBranches() {
@@ -821,20 +804,8 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
         } else {
             parents = new ArrayList<>();
         }
-        FlowNode syntheticNode = new FlowNode(firstBranch.getNode().getExecution(),
-                                              createSyntheticStageId(firstNodeId, PARALLEL_SYNTHETIC_STAGE_NAME), parents) {
-            @Override
-            public void save() throws IOException {
-                // no-op to avoid JENKINS-45892 violations from serializing the synthetic FlowNode.
-            }
-
-            @Override
-            protected String getTypeDisplayName() {
-                return PARALLEL_SYNTHETIC_STAGE_NAME;
-            }
-        };
-
-        syntheticNode.addAction(new LabelAction(PARALLEL_SYNTHETIC_STAGE_NAME));
+        FlowNode syntheticNode = new ParallelSyntheticNode(firstBranch.getNode().getExecution(),
+                                                           createSyntheticStageId(firstNodeId, PARALLEL_SYNTHETIC_STAGE_NAME), parents);
 
         long duration = 0;
         long pauseDuration = 0;
@@ -894,4 +865,24 @@ public class PipelineNodeGraphVisitor extends StandardChunkVisitor implements No
     String createSyntheticStageId(@Nonnull String firstNodeId, @Nonnull String syntheticStageName) {
         return String.format("%s-%s-synthetic", firstNodeId, syntheticStageName.toLowerCase());
     }
+
+    /**
+     * Stage standing for parallel branches that are not wrapped in a stage. It is not part of the flow graph.
+     */
+    static class ParallelSyntheticNode extends FlowNode {
+        ParallelSyntheticNode(FlowExecution exec, String id, List<FlowNode> parents) {
+            super(exec, id, parents);
+            addAction(new LabelAction(PARALLEL_SYNTHETIC_STAGE_NAME));
+        }
+
+        @Override
+        public void save() throws IOException {
+            // no-op to avoid JENKINS-45892 violations from serializing the synthetic FlowNode.
+        }
+
+        @Override
+        protected String getTypeDisplayName() {
+            return PARALLEL_SYNTHETIC_STAGE_NAME;
+        }
+    }
 }
@@ -21,7 +21,6 @@ import io.jenkins.blueocean.rest.model.BlueRun;
 import io.jenkins.blueocean.rest.model.Container;
 import io.jenkins.blueocean.service.embedded.rest.AbstractRunImpl;
 import io.jenkins.blueocean.service.embedded.rest.QueueUtil;
-import jenkins.model.Jenkins;
 import jenkins.scm.api.SCMRevisionAction;
 import org.jenkinsci.plugins.workflow.cps.replay.ReplayAction;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
@@ -180,21 +179,16 @@ public class PipelineRunImpl extends AbstractRunImpl<WorkflowRun> {
 
     @Override
     public String getCauseOfBlockage() {
-        for(Queue.Item i: Jenkins.get().getQueue().getItems()) {
-            if (i.task instanceof ExecutorStepExecution.PlaceholderTask) {
-                ExecutorStepExecution.PlaceholderTask task = (ExecutorStepExecution.PlaceholderTask) i.task;
-                Run r = task.runForDisplay();
-                if (r != null && r.equals(run)) {
-                    String cause = i.getCauseOfBlockage().getShortDescription();
-                    CauseOfBlockage causeOfBlockage = task.getCauseOfBlockage();
-                    if ( causeOfBlockage != null) {
-                        return causeOfBlockage.getShortDescription();
-                    }
-                    return cause;
-                }
-            }
+        Queue.Item i = PlaceholderTaskIndex.get(run);
+        if (i == null) {
+            return null;
         }
-        return null;
+        String cause = i.getCauseOfBlockage().getShortDescription();
+        CauseOfBlockage causeOfBlockage = ((ExecutorStepExecution.PlaceholderTask) i.task).getCauseOfBlockage();
+        if ( causeOfBlockage != null) {
+            return causeOfBlockage.getShortDescription();
+        }
+        return cause;
     }
 
     @Extension(ordinal = 1)
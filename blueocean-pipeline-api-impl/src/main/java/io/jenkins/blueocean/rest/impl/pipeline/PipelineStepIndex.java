@@ -0,0 +1,114 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import org.jenkinsci.plugins.workflow.flow.FlowExecution;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.graphanalysis.ForkScanner;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.pipelinegraphanalysis.StageChunkFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Steps of a run, computed on first use and shared by all step lookups on the same {@link NodeGraphBuilder}.
+ *
+ * All steps of the run and the id index over them come from one walk. The steps of a stage or parallel branch come
+ * from a walk for that node alone, made the first time they are asked for and kept, so asking for one stage never pays
+ * for the others. The status and timing of each step are computed once for all these walks. The index lives as long as
+ * the graph it belongs to, so it is dropped together with the cached graph of a run once that run moves on or finishes.
+ *
+ * @see NodeGraphCache
+ */
+final class PipelineStepIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineStepIndex.class);
+
+    private final WorkflowRun run;
+
+    /** Status and timing of the steps walked so far, by id */
+    private final Map<String, PipelineStepVisitor.StepState> stepStates = new ConcurrentHashMap<>();
+
+    /** Steps of the stages and parallel branches asked for so far, by node id */
+    private final Map<String, List<FlowNodeWrapper>> perNode = new ConcurrentHashMap<>();
+
+    private volatile PipelineStepVisitor all;
+
+    PipelineStepIndex(@Nonnull WorkflowRun run) {
+        this.run = run;
+    }
+
+    /** Gives all the steps of this run */
+    @Nonnull List<FlowNodeWrapper> getSteps() {
+        PipelineStepVisitor visitor = all();
+        return visitor == null ? Collections.emptyList() : visitor.getSteps();
+    }
+
+    /** Gives the step for given id */
+    @CheckForNull FlowNodeWrapper getStep(@Nonnull String id) {
+        PipelineStepVisitor visitor = all();
+        return visitor == null ? null : visitor.getStep(id);
+    }
+
+    /** Gives the steps inside the given stage or parallel branch */
+    @Nonnull List<FlowNodeWrapper> getSteps(@Nonnull String nodeId) {
+        List<FlowNodeWrapper> steps = perNode.get(nodeId);
+        if (steps != null) {
+            return steps;
+        }
+        FlowExecution execution = run.getExecution();
+        if (execution == null) {
+            return Collections.emptyList();
+        }
+        FlowNode n = stageOrBranch(execution, nodeId);
+        //if no node found or the node is not stage or parallel we return empty steps
+        if (n == null) {
+            return Collections.emptyList();
+        }
+        PipelineStepVisitor visitor = new PipelineStepVisitor(run, n, stepStates);
+        ForkScanner.visitSimpleChunks(execution.getCurrentHeads(), visitor, new StageChunkFinder());
+        steps = Collections.unmodifiableList(visitor.getSteps());
+        List<FlowNodeWrapper> raced = perNode.putIfAbsent(nodeId, steps);
+        return raced != null ? raced : steps;
+    }
+
+    private PipelineStepVisitor all() {
+        PipelineStepVisitor visitor = all;
+        if (visitor == null) {
+            synchronized (this) {
+                visitor = all;
+                if (visitor == null) {
+                    FlowExecution execution = run.getExecution();
+                    if (execution == null) {
+                        logger.debug(String.format("Pipeline %s, runid %s  has null execution", run.getParent().getName(), run.getId()));
+                        return null;
+                    }
+                    visitor = new PipelineStepVisitor(run, null, stepStates);
+                    ForkScanner.visitSimpleChunks(execution.getCurrentHeads(), visitor, new StageChunkFinder());
+                    all = visitor;
+                }
+            }
+        }
+        return visitor;
+    }
+
+    /**
+     * @return the stage or parallel branch of the given id, null if there is no such node
+     */
+    private @CheckForNull FlowNode stageOrBranch(FlowExecution execution, String nodeId) {
+        FlowNode n;
+        try {
+            n = execution.getNode(nodeId);
+        } catch (IOException e) {
+            logger.error("Error loading FlowNode " + nodeId + " of run " + run.getExternalizableId() + ": " + e.getMessage(), e);
+            return null;
+        }
+        return n != null && (PipelineNodeUtil.isStage(n) || PipelineNodeUtil.isParallelBranch(n)) ? n : null;
+    }
+}
@@ -62,12 +62,23 @@ public class PipelineStepVisitor extends StandardChunkVisitor {
     private StepEndNode closestEndNode;
     private StepStartNode agentNode = null;
 
+    /** Status and timing of the steps walked, by id, shared by the walks of one run */
+    private final Map<String,StepState> stepStates;
+
     private static final Logger logger = LoggerFactory.getLogger(PipelineStepVisitor.class);
 
     public PipelineStepVisitor(WorkflowRun run, @Nullable final FlowNode node) {
+        this(run, node, new HashMap<>());
+    }
+
+    /**
+     * Visitor sharing the status and timing of steps with the other walks of the run, see {@link PipelineStepIndex}.
+     */
+    PipelineStepVisitor(WorkflowRun run, @Nullable final FlowNode node, Map<String,StepState> stepStates) {
         this.node = node;
         this.run = run;
         this.inputAction = run.getAction(InputAction.class);
+        this.stepStates = stepStates;
     }
 
     @Override
@@ -162,35 +173,10 @@ public class PipelineStepVisitor extends StandardChunkVisitor {
         if(atomNode instanceof StepAtomNode &&
                 !PipelineNodeUtil.isSkippedStage(currentStage)) { //if skipped stage, we don't collect its steps
 
-            long pause = PauseAction.getPauseDuration(atomNode);
-            chunk.setPauseTimeMillis(chunk.getPauseTimeMillis()+pause);
-
-            TimingInfo times = StatusAndTiming.computeChunkTiming(run, pause, atomNode, atomNode, after);
-
-            if(times == null){
-                times = new TimingInfo();
-            }
+            StepState state = stepStates.computeIfAbsent(atomNode.getId(), id -> stepState((StepAtomNode) atomNode, after));
+            chunk.setPauseTimeMillis(chunk.getPauseTimeMillis()+state.pause);
 
-            NodeRunStatus status;
-            InputStep inputStep=null;
-            if(PipelineNodeUtil.isPausedForInputStep((StepAtomNode) atomNode, inputAction)){
-                status = new NodeRunStatus(BlueRun.BlueRunResult.UNKNOWN, BlueRun.BlueRunState.PAUSED);
-                try {
-                    for(InputStepExecution execution: inputAction.getExecutions()){
-                            FlowNode node = execution.getContext().get(FlowNode.class);
-                            if(node != null && node.equals(atomNode)){
-                                inputStep = execution.getInput();
-                                break;
-                            }
-                    }
-                } catch (IOException | InterruptedException | TimeoutException e) {
-                    logger.error("Error getting FlowNode from execution context: "+e.getMessage(), e);
-                }
-            }else{
-                 status = new NodeRunStatus(atomNode);
-            }
-
-            FlowNodeWrapper node = new FlowNodeWrapper(atomNode, status, times, inputStep, run);
+            FlowNodeWrapper node = new FlowNodeWrapper(atomNode, state.status, state.times, state.inputStep, run);
             if(PipelineNodeUtil.isPreSyntheticStage(currentStage)){
                 preSteps.push(node);
             }else if(PipelineNodeUtil.isPostSyntheticStage(currentStage)){
@@ -211,6 +197,36 @@ public class PipelineStepVisitor extends StandardChunkVisitor {
         }
     }
 
+    private StepState stepState(StepAtomNode atomNode, @CheckForNull FlowNode after){
+        long pause = PauseAction.getPauseDuration(atomNode);
+
+        TimingInfo times = StatusAndTiming.computeChunkTiming(run, pause, atomNode, atomNode, after);
+
+        if(times == null){
+            times = new TimingInfo();
+        }
+
+        NodeRunStatus status;
+        InputStep inputStep=null;
+        if(PipelineNodeUtil.isPausedForInputStep(atomNode, inputAction)){
+            status = new NodeRunStatus(BlueRun.BlueRunResult.UNKNOWN, BlueRun.BlueRunState.PAUSED);
+            try {
+                for(InputStepExecution execution: inputAction.getExecutions()){
+                        FlowNode node = execution.getContext().get(FlowNode.class);
+                        if(node != null && node.equals(atomNode)){
+                            inputStep = execution.getInput();
+                            break;
+                        }
+                }
+            } catch (IOException | InterruptedException | TimeoutException e) {
+                logger.error("Error getting FlowNode from execution context: "+e.getMessage(), e);
+            }
+        }else{
+             status = new NodeRunStatus(atomNode);
+        }
+        return new StepState(pause, status, times, inputStep);
+    }
+
     public List<FlowNodeWrapper> getSteps(){
         List<FlowNodeWrapper> s = new ArrayList<>();
         if(node != null){
@@ -249,6 +265,21 @@ public class PipelineStepVisitor extends StandardChunkVisitor {
         stepMap.clear();
     }
 
+    /** What a step shows, the same whichever stage it is collected for */
+    static final class StepState {
+        private final long pause;
+        private final NodeRunStatus status;
+        private final TimingInfo times;
+        private final InputStep inputStep;
+
+        private StepState(long pause, NodeRunStatus status, TimingInfo times, @Nullable InputStep inputStep) {
+            this.pause = pause;
+            this.status = status;
+            this.times = times;
+            this.inputStep = inputStep;
+        }
+    }
+
     static class LocalAtomNode extends AtomNode {
         private final String cause;
 
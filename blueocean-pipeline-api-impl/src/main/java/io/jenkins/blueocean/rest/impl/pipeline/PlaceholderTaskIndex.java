@@ -0,0 +1,151 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import hudson.Extension;
+import hudson.model.Queue;
+import hudson.model.Run;
+import hudson.model.queue.QueueListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import org.jenkinsci.plugins.workflow.support.steps.ExecutorStepExecution;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Queue items of the <code>node</code> blocks of each run, kept up to date by a {@link QueueListener} so that
+ * {@link PipelineRunImpl#getCauseOfBlockage()} does not scan the queue.
+ *
+ * Items are keyed by the externalizable id of their run and by item id, and replaced as they move from waiting to
+ * blocked to buildable. The index is filled from the queue on first use, under the queue lock, and filled again when
+ * the queue is replaced.
+ */
+final class PlaceholderTaskIndex {
+
+    /** Index of the current queue, replaced when Jenkins restarts in the same JVM */
+    private static volatile PlaceholderTaskIndex current;
+
+    /**
+     * Order of {@link Queue#getItems()}: waiting items, blocked items, buildable items then pending ones, newest
+     * buildable first. Waiting and blocked items are ordered by id, which is the order they entered the queue.
+     */
+    private static final Comparator<Queue.Item> QUEUE_ORDER = Comparator
+        .comparingInt(PlaceholderTaskIndex::stateOrder)
+        .thenComparingLong(item -> item instanceof Queue.BuildableItem ? -item.getId() : item.getId());
+
+    private final WeakReference<Queue> queue;
+
+    /** Queue items by run and by item id */
+    private final ConcurrentMap<String, ConcurrentMap<Long, Queue.Item>> items = new ConcurrentHashMap<>();
+
+    /** Run of each indexed queue item */
+    private final ConcurrentMap<Long, String> runs = new ConcurrentHashMap<>();
+
+    private PlaceholderTaskIndex(Queue queue) {
+        this.queue = new WeakReference<>(queue);
+    }
+
+    /**
+     * @return the queue item of a <code>node</code> block of the run that {@link Queue#getItems()} lists first, null if
+     * none is queued
+     */
+    static @CheckForNull Queue.Item get(@Nonnull Run run) {
+        ConcurrentMap<Long, Queue.Item> items = current().items.get(run.getExternalizableId());
+        if (items == null) {
+            return null;
+        }
+        return items.values().stream().min(QUEUE_ORDER).orElse(null);
+    }
+
+    /**
+     * Drops the index, so that it is filled from the queue on next use.
+     */
+    static void invalidate() {
+        current = null;
+    }
+
+    private static int stateOrder(Queue.Item item) {
+        if (item instanceof Queue.WaitingItem) {
+            return 0;
+        }
+        if (item instanceof Queue.BlockedItem) {
+            return 1;
+        }
+        return item instanceof Queue.BuildableItem && ((Queue.BuildableItem) item).isPending() ? 3 : 2;
+    }
+
+    private static PlaceholderTaskIndex current() {
+        Queue queue = Queue.getInstance();
+        PlaceholderTaskIndex index = current;
+        if (index == null || index.queue.get() != queue) {
+            // the listener is called with the queue lock held, so no item enters or leaves while filling the index
+            Queue.withLock(() -> {
+                PlaceholderTaskIndex existing = current;
+                if (existing == null || existing.queue.get() != queue) {
+                    PlaceholderTaskIndex created = new PlaceholderTaskIndex(queue);
+                    // every item, whoever asks first
+                    try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                        for (Queue.Item item : queue.getItems()) {
+                            created.put(item);
+                        }
+                    }
+                    current = created;
+                }
+            });
+            index = current;
+        }
+        return index;
+    }
+
+    private void put(Queue.Item item) {
+        String runId = runs.get(item.getId());
+        if (runId == null) {
+            if (!(item.task instanceof ExecutorStepExecution.PlaceholderTask)) {
+                return;
+            }
+            Run run = ((ExecutorStepExecution.PlaceholderTask) item.task).runForDisplay();
+            if (run == null) {
+                return;
+            }
+            runId = run.getExternalizableId();
+            runs.put(item.getId(), runId);
+        }
+        items.computeIfAbsent(runId, id -> new ConcurrentHashMap<>()).put(item.getId(), item);
+    }
+
+    private void remove(Queue.Item item) {
+        String runId = runs.remove(item.getId());
+        if (runId != null) {
+            items.computeIfPresent(runId, (id, runItems) -> {
+                runItems.remove(item.getId());
+                return runItems.isEmpty() ? null : runItems;
+            });
+        }
+    }
+
+    @Extension
+    public static class QueueListenerImpl extends QueueListener {
+        @Override
+        public void onEnterWaiting(Queue.WaitingItem wi) {
+            current().put(wi);
+        }
+
+        @Override
+        public void onEnterBlocked(Queue.BlockedItem bi) {
+            current().put(bi);
+        }
+
+        @Override
+        public void onEnterBuildable(Queue.BuildableItem bi) {
+            current().put(bi);
+        }
+
+        @Override
+        public void onLeft(Queue.LeftItem li) {
+            current().remove(li);
+        }
+    }
+}
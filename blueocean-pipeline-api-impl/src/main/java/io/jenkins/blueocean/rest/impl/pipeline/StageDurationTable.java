@@ -0,0 +1,221 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Job;
+import hudson.model.listeners.RunListener;
+import io.jenkins.blueocean.rest.hal.Link;
+import io.jenkins.blueocean.rest.model.BluePipelineNode;
+import jenkins.util.Timer;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stage durations of the completed runs of a pipeline, persisted as {@value #FILE_NAME} in the job directory.
+ *
+ * Stored by column: every stage name seen so far is a column, and every run is a row of durations indexed by column,
+ * keyed by build number. Rows are appended when a run completes, or the first time a completed run not yet in the table
+ * is shown in the {@link StageDurationTrend}, so the trend does not need to build the node graph of completed runs.
+ *
+ * Changes are saved in the background a short while after they are made, so that the rows recorded while one page of
+ * the trend is shown are written in one save rather than one save each.
+ */
+final class StageDurationTable {
+
+    static final String FILE_NAME = "blueocean-stage-durations.xml";
+
+    /**
+     * Stage duration table cache maximum number of pipelines. Default 1000.
+     */
+    static final long STAGE_DURATION_CACHE_MAX_SIZE = Long.getLong("STAGE_DURATION_CACHE_MAX_SIZE", 1000);
+
+    /**
+     * Delay between a change to a stage duration table and its save, in milliseconds. Default 1000.
+     */
+    static final long STAGE_DURATION_SAVE_DELAY_MILLIS = Long.getLong("STAGE_DURATION_SAVE_DELAY_MILLIS", 1000);
+
+    /** Bump whenever the persisted form changes */
+    static final int VERSION = 1;
+
+    /** Marks a stage that is not part of a run */
+    private static final long NONE = -1;
+
+    private static final Logger logger = LoggerFactory.getLogger(StageDurationTable.class);
+
+    private static final LoadingCache<Job, StageDurationTable> TABLES = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(STAGE_DURATION_CACHE_MAX_SIZE)
+            .build(StageDurationTable::load);
+
+    /** Job of the table, the file is resolved on every save as the job directory moves when the job is renamed */
+    private final WeakReference<Job> job;
+    private final Columns columns;
+
+    /** Set while a save is scheduled, so that changes made meanwhile are saved with it */
+    private final AtomicBoolean savePending = new AtomicBoolean();
+
+    private StageDurationTable(Job job, Columns columns) {
+        this.job = new WeakReference<>(job);
+        this.columns = columns;
+    }
+
+    static @Nonnull StageDurationTable get(@Nonnull Job job) {
+        return TABLES.get(job);
+    }
+
+    /**
+     * Gives the stage name to duration map recorded for the given build number.
+     *
+     * @return null if the run was not recorded
+     */
+    synchronized @CheckForNull Map<String, Long> get(int number) {
+        long[] row = columns.rows.get(number);
+        if (row == null) {
+            return null;
+        }
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] != NONE) {
+                durations.put(columns.stages.get(i), row[i]);
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Records the stage durations of a completed run.
+     */
+    void put(int number, @Nonnull Map<String, Long> durations) {
+        synchronized (this) {
+            long[] row = new long[columns.stages.size() + durations.size()];
+            Arrays.fill(row, NONE);
+            for (Map.Entry<String, Long> e : durations.entrySet()) {
+                int column = columns.stages.indexOf(e.getKey());
+                if (column < 0) {
+                    column = columns.stages.size();
+                    columns.stages.add(e.getKey());
+                }
+                row[column] = e.getValue() == null ? NONE : e.getValue();
+            }
+            columns.rows.put(number, Arrays.copyOf(row, columns.stages.size()));
+        }
+        save();
+    }
+
+    void remove(int number) {
+        synchronized (this) {
+            if (columns.rows.remove(number) == null) {
+                return;
+            }
+        }
+        save();
+    }
+
+    /**
+     * Schedules a save of the table, unless one is already scheduled.
+     */
+    private void save() {
+        if (savePending.compareAndSet(false, true)) {
+            Timer.get().schedule(this::write, STAGE_DURATION_SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write() {
+        // cleared first, so a change made while writing schedules another save
+        savePending.set(false);
+        Job j = job.get();
+        if (j == null) {
+            return;
+        }
+        XmlFile file = file(j);
+        try {
+            synchronized (this) {
+                file.write(columns);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to save stage durations " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stage name to duration map of the given nodes, as shown by {@link StageDurationTrend}.
+     */
+    static @Nonnull Map<String, Long> durations(@Nonnull Iterable<BluePipelineNode> nodes) {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        for (BluePipelineNode node : nodes) {
+            if (durations.containsKey(node.getDisplayName())) {
+                throw new IllegalStateException("Duplicate stage " + node.getDisplayName());
+            }
+            durations.put(node.getDisplayName(), node.getDurationInMillis());
+        }
+        return durations;
+    }
+
+    private static XmlFile file(Job job) {
+        return new XmlFile(new File(job.getRootDir(), FILE_NAME));
+    }
+
+    private static StageDurationTable load(Job job) {
+        XmlFile file = file(job);
+        if (file.exists()) {
+            try {
+                Columns columns = (Columns) file.read();
+                if (columns.version == VERSION && columns.stages != null && columns.rows != null) {
+                    return new StageDurationTable(job, columns);
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable stage durations " + file + ": " + e.getMessage());
+            }
+        }
+        Columns columns = new Columns();
+        columns.version = VERSION;
+        columns.stages = new ArrayList<>();
+        columns.rows = new TreeMap<>();
+        return new StageDurationTable(job, columns);
+    }
+
+    /** Persisted form of the table */
+    static final class Columns {
+        int version;
+        List<String> stages;
+        TreeMap<Integer, long[]> rows;
+    }
+
+    /**
+     * Records the stage durations of a run that just completed, called by {@link NodeGraphCache.RunListenerImpl} once
+     * the graph of the run is cached so that it is not walked again.
+     */
+    static void record(@Nonnull WorkflowRun run) {
+        try {
+            Map<String, Long> durations = durations(new PipelineNodeContainerImpl(run, new Link("/")));
+            get(run.getParent()).put(run.getNumber(), durations);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record stage durations of run " + run.getExternalizableId() + ": " + e.getMessage());
+        }
+    }
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<WorkflowRun> {
+        @Override
+        public void onDeleted(WorkflowRun run) {
+            get(run.getParent()).remove(run.getNumber());
+        }
+    }
+}
@@ -4,8 +4,6 @@ import hudson.Extension;
 import io.jenkins.blueocean.rest.factory.BlueTrendFactory;
 import io.jenkins.blueocean.rest.hal.Link;
 import io.jenkins.blueocean.rest.model.BluePipeline;
-import io.jenkins.blueocean.rest.model.BluePipelineNode;
-import io.jenkins.blueocean.rest.model.BluePipelineStep;
 import io.jenkins.blueocean.rest.model.BlueRun;
 import io.jenkins.blueocean.rest.model.BlueRunContainer;
 import io.jenkins.blueocean.rest.model.BlueTableRow;
@@ -17,7 +15,7 @@ import org.kohsuke.stapler.export.ExportedBean;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Spliterators;
 import java.util.stream.StreamSupport;
 
 /**
@@ -55,7 +53,10 @@ public class StageDurationTrend extends BlueTrend {
 
     @Override
     public Container<BlueTableRow> getRows() {
+        // rows are paged like the runs of the pipeline, so each row still loads its run: the table only spares the
+        // node graph of the runs it has recorded
         BlueRunContainer blueRunContainer = pipeline.getRuns();
+        StageDurationTable table = StageDurationTable.get(pipeline.getJob());
 
         return new Container<BlueTableRow>() {
             @Override
@@ -73,7 +74,15 @@ public class StageDurationTrend extends BlueTrend {
                 return blueRunContainer == null
                     ? null
                     : StreamSupport.stream(blueRunContainer.spliterator(), false ).
-                        map(blueRun -> (BlueTableRow)new StageDurationTrendRow(blueRun)).iterator();
+                        map(blueRun -> (BlueTableRow)new StageDurationTrendRow(blueRun, table)).iterator();
+            }
+
+            @Override
+            public Iterator<BlueTableRow> iterator(int start, int limit) {
+                return blueRunContainer == null
+                    ? null
+                    : StreamSupport.stream(Spliterators.spliteratorUnknownSize(blueRunContainer.iterator(start, limit), 0), false).
+                        map(blueRun -> (BlueTableRow)new StageDurationTrendRow(blueRun, table)).iterator();
             }
         };
     }
@@ -84,9 +93,15 @@ public class StageDurationTrend extends BlueTrend {
         static final String NODES = "nodes";
 
         private final BlueRun run;
+        private final StageDurationTable table;
 
         public StageDurationTrendRow(BlueRun run) {
+            this(run, null);
+        }
+
+        StageDurationTrendRow(BlueRun run, StageDurationTable table) {
             this.run = run;
+            this.table = table;
         }
 
         @Override
@@ -98,8 +113,19 @@ public class StageDurationTrend extends BlueTrend {
         // @Exported(merge = true)
         @Exported(name = NODES)
         public Map getNodes() {
-            return StreamSupport.stream(run.getNodes().spliterator(), false)
-                .collect(Collectors.toMap(BluePipelineNode::getDisplayName, BluePipelineStep::getDurationInMillis));
+            if (table == null) {
+                return StageDurationTable.durations(run.getNodes());
+            }
+            int number = Integer.parseInt(run.getId());
+            Map<String, Long> durations = table.get(number);
+            if (durations == null) {
+                durations = StageDurationTable.durations(run.getNodes());
+                // runs completed before the table existed are recorded on first view
+                if (run.getStateObj() == BlueRun.BlueRunState.FINISHED) {
+                    table.put(number, durations);
+                }
+            }
+            return durations;
         }
 
         /*
@@ -43,6 +43,9 @@ public class BlueRunChangesetPreloaderTest {
         BlueRunChangesetPreloader preloader = new BlueRunChangesetPreloader();
         RESTFetchPreloader.FetchData fetchData = preloader.getFetchData(container);
         assertEquals("/blue/rest/organizations/jenkins/pipelines/project/runs/1/changeSet/?start=0&limit=101", fetchData.getRestUrl());
+        assertEquals("[]", fetchData.getData());
+        assertEquals("{\"restUrl\":\"/blue/rest/organizations/jenkins/pipelines/project/runs/1/changeSet/?start=0&limit=101\",\"data\":\"[]\"}",
+                     fetchData.toJSON());
     }
 
 }
@@ -88,6 +88,15 @@ public class BranchContainerImplTest extends PipelineBaseTest {
         Map o3 = (Map)l2.get(1);
 
         Assert.assertEquals(o2.get("name"), o1.get("name"));
+
+        // a page is the same slice of the ordered branches
+        List l3 = request().get("/organizations/jenkins/pipelines/p/branches/?start=1&limit=2")
+            .jwtToken(token)
+            .build(List.class);
+
+        Assert.assertEquals(2, l3.size());
+        Assert.assertEquals(o3.get("name"), ((Map)l3.get(0)).get("name"));
+        Assert.assertEquals(((Map)l2.get(2)).get("name"), ((Map)l3.get(1)).get("name"));
     }
 
     private void setupScm() throws Exception {
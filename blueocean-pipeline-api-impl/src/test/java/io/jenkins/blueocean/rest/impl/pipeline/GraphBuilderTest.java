@@ -14,6 +14,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.jvnet.hudson.test.Issue;
 
+import java.io.File;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
@@ -21,6 +22,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * These tests are for regressions in the Graph Builder code, to make sure the same input produces the same output nodes
@@ -459,6 +461,50 @@ public class GraphBuilderTest extends PipelineBaseTest {
         }
     }
 
+    @Test
+    public void cachedGraphFollowsNewHeads() throws Exception {
+        WorkflowJob p = createJob("cachedGraphFollowsNewHeads", "unionDifferentNodeIdsSameStructure.jenkinsfile");
+        WorkflowRun b1 = p.scheduleBuild2(0).waitForStart();
+        SemaphoreStep.waitForStart("second/1", b1);
+        List<FlowNodeWrapper> nodes = NodeGraphBuilder.NodeGraphBuilderFactory.getInstance(b1).getPipelineNodes();
+        assertStageAndEdges(nodes, "second", BlueRun.BlueRunState.RUNNING, BlueRun.BlueRunResult.UNKNOWN);
+        assertEquals("Unexpected stages in graph", 2, nodes.size());
+
+        SemaphoreStep.success("second/1", null);
+        SemaphoreStep.waitForStart("third/1", b1);
+        nodes = NodeGraphBuilder.NodeGraphBuilderFactory.getInstance(b1).getPipelineNodes();
+        assertStageAndEdges(nodes, "second", "third");
+        assertStageAndEdges(nodes, "third", BlueRun.BlueRunState.RUNNING, BlueRun.BlueRunResult.UNKNOWN);
+        assertEquals("Unexpected stages in graph", 3, nodes.size());
+
+        SemaphoreStep.success("third/1", null);
+        j.waitForCompletion(b1);
+        j.assertBuildStatus(Result.SUCCESS, b1);
+        NodeGraphBuilder graph = NodeGraphBuilder.NodeGraphBuilderFactory.getInstance(b1);
+        assertStageAndEdges(graph.getPipelineNodes(), "third");
+        // graph of a completed run is served from the cache
+        Assert.assertSame(graph, NodeGraphBuilder.NodeGraphBuilderFactory.getInstance(b1));
+    }
+
+    @Test
+    public void completedRunGraphSnapshot() throws Exception {
+        WorkflowRun run = createAndRunJob("JENKINS-56383", "JENKINS-56383.jenkinsfile");
+        assertTrue(new File(run.getRootDir(), PipelineNodeGraphSnapshot.FILE_NAME).exists());
+
+        PipelineNodeGraphSnapshot snapshot = PipelineNodeGraphSnapshot.load(run);
+        Assert.assertNotNull(snapshot);
+        List<FlowNodeWrapper> nodes = snapshot.getPipelineNodes();
+        List<FlowNodeWrapper> walked = new PipelineNodeGraphVisitor(run).getPipelineNodes();
+        assertEquals(walked.stream().map(FlowNodeWrapper::getId).collect(Collectors.toList()),
+                     nodes.stream().map(FlowNodeWrapper::getId).collect(Collectors.toList()));
+
+        assertStageAndEdges(nodes, "Top1", "TOP1-P1", "TOP1-P2");
+        assertStageAndEdges(nodes, "TOP1-P1", "TOP2");
+        assertStageAndEdges(nodes, "TOP2", "TOP2-P1", "TOP2-P2");
+        assertStageAndEdges(nodes, "TOP3");
+        assertEquals("Unexpected stages in graph", 7, nodes.size());
+    }
+
     private FlowNodeWrapper assertStageAndEdges(Collection<FlowNodeWrapper> searchNodes, String stageName, String... edgeNames) {
         return assertStageAndEdges(searchNodes, stageName, BlueRun.BlueRunState.FINISHED, BlueRun.BlueRunResult.SUCCESS, edgeNames);
     }
@@ -2,6 +2,7 @@ package io.jenkins.blueocean.rest.impl.pipeline;
 
 import hudson.Util;
 import hudson.model.FreeStyleProject;
+import hudson.model.Item;
 import hudson.model.Queue;
 import hudson.model.User;
 import hudson.plugins.favorite.Favorites;
@@ -35,6 +36,7 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.BuildWatcher;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
 import org.jvnet.hudson.test.MockFolder;
 
 import java.io.IOException;
@@ -933,6 +935,71 @@ public class MultiBranchTest extends PipelineBaseTest {
         for(int i=0; i< 3; i++){
             Assert.assertEquals(launchedItems.get(i).getId(), (resp.get(i).get("id")));
         }
+
+        // next page continues where the first one stopped, across branches
+        resp = get("/organizations/jenkins/pipelines/p/runs?start=3&limit=3", List.class);
+
+        assertEquals(3, resp.size());
+
+        for(int i=0; i< 3; i++){
+            Assert.assertEquals(launchedItems.get(i+3).getId(), (resp.get(i).get("id")));
+            Assert.assertEquals(launchedItems.get(i+3).getParent().getName(), resp.get(i).get("pipeline"));
+        }
+    }
+
+    @Test
+    public void branchCountsFollowBranchAndRunChanges() throws Exception {
+        WorkflowMultiBranchProject mp = j.jenkins.createProject(WorkflowMultiBranchProject.class, "p");
+        mp.getSourcesList().add(new BranchSource(new GitSCMSource(null, sampleRepo.toString(), "", "*", "", false),
+                new DefaultBranchPropertyStrategy(new BranchProperty[0])));
+        mp.scheduleBuild2(0).getFuture().get();
+        j.waitUntilNoActivity();
+
+        validateMultiBranchPipeline(mp, get("/organizations/jenkins/pipelines/p/"), 3, 3, 0);
+
+        // run deleted
+        findBranchProject(mp, "feature2").getLastBuild().delete();
+        validateMultiBranchPipeline(mp, get("/organizations/jenkins/pipelines/p/"), 3, 2, 0);
+
+        // branch created
+        sampleRepo.git("checkout", "-b", "feature3");
+        sampleRepo.write("file", "subsequent content3");
+        sampleRepo.git("commit", "--all", "--message=tweaked3");
+        sampleRepo.git("checkout", "master");
+        mp.scheduleBuild2(0).getFuture().get();
+        j.waitUntilNoActivity();
+        validateMultiBranchPipeline(mp, get("/organizations/jenkins/pipelines/p/"), 4, 3, 0);
+
+        // branch deleted
+        sampleRepo.git("branch", "-D", "feature3");
+        mp.scheduleBuild2(0).getFuture().get();
+        j.waitUntilNoActivity();
+        assertNull(mp.getItem("feature3"));
+        validateMultiBranchPipeline(mp, get("/organizations/jenkins/pipelines/p/"), 3, 2, 0);
+
+        // branch renamed
+        findBranchProject(mp, "master").renameTo("renamed");
+        validateMultiBranchPipeline(mp, get("/organizations/jenkins/pipelines/p/"), 3, 2, 0);
+
+        // counts of a user who can only read one branch
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        MockAuthorizationStrategy authz = new MockAuthorizationStrategy();
+        authz.grant(Jenkins.READ).everywhere().to("bob");
+        authz.grant(Item.READ).onItems(mp, mp.getItem("renamed")).to("bob");
+        authz.grant(Jenkins.ADMINISTER).everywhere().to("alice");
+        j.jenkins.setAuthorizationStrategy(authz);
+
+        Map resp = request().get("/organizations/jenkins/pipelines/p/")
+            .jwtToken(getJwtToken(j.jenkins, "bob", "bob"))
+            .build(Map.class);
+        assertEquals(1, resp.get("totalNumberOfBranches"));
+        assertEquals(1, resp.get("numberOfSuccessfulBranches"));
+
+        resp = request().get("/organizations/jenkins/pipelines/p/")
+            .jwtToken(getJwtToken(j.jenkins, "alice", "alice"))
+            .build(Map.class);
+        assertEquals(3, resp.get("totalNumberOfBranches"));
+        assertEquals(2, resp.get("numberOfSuccessfulBranches"));
     }
 
     private void setupParameterizedScm() throws Exception {
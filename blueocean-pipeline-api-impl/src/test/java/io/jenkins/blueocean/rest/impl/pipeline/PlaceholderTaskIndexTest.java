@@ -0,0 +1,90 @@
+package io.jenkins.blueocean.rest.impl.pipeline;
+
+import hudson.ExtensionList;
+import hudson.model.Queue;
+import hudson.model.Run;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.support.steps.ExecutorStepExecution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+public class PlaceholderTaskIndexTest extends PipelineBaseTest {
+
+    @Test
+    public void itemFollowsQueueLifecycle() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "lifecycle");
+        p.setDefinition(new CpsFlowDefinition("node('missing') { echo 'never' }", true));
+        WorkflowRun r = p.scheduleBuild2(0).waitForStart();
+        Queue.Item queued = queuedItems(r, 1).get(0);
+        Assert.assertSame(queued, PlaceholderTaskIndex.get(r));
+
+        PlaceholderTaskIndex.QueueListenerImpl listener = ExtensionList.lookupSingleton(PlaceholderTaskIndex.QueueListenerImpl.class);
+        Queue.WaitingItem waiting = new Queue.WaitingItem(Calendar.getInstance(), queued.task, Collections.emptyList());
+        listener.onEnterWaiting(waiting);
+        // waiting items are listed before buildable ones
+        Assert.assertSame(waiting, PlaceholderTaskIndex.get(r));
+
+        Queue.BlockedItem blocked = new Queue.BlockedItem(waiting);
+        listener.onEnterBlocked(blocked);
+        Assert.assertSame(blocked, PlaceholderTaskIndex.get(r));
+
+        Queue.BuildableItem buildable = new Queue.BuildableItem(blocked);
+        listener.onEnterBuildable(buildable);
+        // the newest buildable item is listed first
+        Assert.assertSame(buildable, PlaceholderTaskIndex.get(r));
+
+        listener.onLeft(new Queue.LeftItem(buildable));
+        Assert.assertSame(queued, PlaceholderTaskIndex.get(r));
+
+        // filled again from the queue, which never held the items above
+        PlaceholderTaskIndex.invalidate();
+        Assert.assertEquals(queued.getId(), PlaceholderTaskIndex.get(r).getId());
+
+        Assert.assertTrue(Queue.getInstance().cancel(queued));
+        Assert.assertNull(PlaceholderTaskIndex.get(r));
+        j.waitForCompletion(r);
+    }
+
+    @Test
+    public void twoNodeBlocksOfOneRun() throws Exception {
+        WorkflowJob p = j.createProject(WorkflowJob.class, "two-nodes");
+        p.setDefinition(new CpsFlowDefinition(
+            "parallel a: { node('missing') { echo 'a' } }, b: { node('missing') { echo 'b' } }", true));
+        WorkflowRun r = p.scheduleBuild2(0).waitForStart();
+        List<Queue.Item> queued = queuedItems(r, 2);
+        Assert.assertEquals(queued.get(0).getId(), PlaceholderTaskIndex.get(r).getId());
+
+        Assert.assertTrue(Queue.getInstance().cancel(queued.get(0)));
+        Assert.assertEquals(queued.get(1).getId(), PlaceholderTaskIndex.get(r).getId());
+
+        Assert.assertTrue(Queue.getInstance().cancel(queued.get(1)));
+        Assert.assertNull(PlaceholderTaskIndex.get(r));
+        j.waitForCompletion(r);
+    }
+
+    /**
+     * @return the buildable items of the node blocks of the run, in the order of {@link Queue#getItems()}
+     */
+    private List<Queue.Item> queuedItems(Run r, int count) throws InterruptedException {
+        while (true) {
+            List<Queue.Item> items = new ArrayList<>();
+            for (Queue.Item item : Queue.getInstance().getItems()) {
+                if (item instanceof Queue.BuildableItem && item.task instanceof ExecutorStepExecution.PlaceholderTask
+                    && r.equals(((ExecutorStepExecution.PlaceholderTask) item.task).runForDisplay())) {
+                    items.add(item);
+                }
+            }
+            if (items.size() == count) {
+                return items;
+            }
+            Thread.sleep(100);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -50,4 +51,55 @@ public class StageDurationTrendApiTest extends PipelineBaseTest {
         Assert.assertNotNull(nodes.get("second"));
         Assert.assertNotNull(nodes.get("third"));
     }
+
+    @Test
+    public void durationsRecordedOnCompletion() throws Exception {
+        URL resource = getClass().getResource("declarativeThreeStages.jenkinsfile");
+        String jenkinsFile = IOUtils.toString(resource, StandardCharsets.UTF_8);
+
+        WorkflowJob p = j.createProject(WorkflowJob.class, "duration-table");
+        p.setDefinition(new CpsFlowDefinition(jenkinsFile, true));
+        p.save();
+
+        Run r1 = j.waitForCompletion(p.scheduleBuild2(0).waitForStart());
+        Run r2 = j.waitForCompletion(p.scheduleBuild2(0).waitForStart());
+
+        StageDurationTable table = StageDurationTable.get(p);
+        Map<String, Long> durations = table.get(r1.getNumber());
+        Assert.assertNotNull(durations);
+        Assert.assertEquals(3, durations.size());
+        Assert.assertNotNull(durations.get("first"));
+        Assert.assertNotNull(table.get(r2.getNumber()));
+
+        List rows = new RequestBuilder(baseUrl)
+            .get("/organizations/jenkins/pipelines/"+p.getName()+"/trends/stageDuration/rows/?start=1&limit=1")
+            .build(List.class);
+        Assert.assertEquals(1, rows.size());
+        Map stageRow = (Map) rows.get(0);
+        Assert.assertEquals(r1.getId(), stageRow.get("id"));
+        Assert.assertEquals(3, ((Map) stageRow.get(NODES)).size());
+
+        // saved in the background
+        File saved = new File(p.getRootDir(), StageDurationTable.FILE_NAME);
+        for (int i = 0; i < 100 && !saved.exists(); i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(saved.exists());
+
+        r1.delete();
+        Assert.assertNull(table.get(r1.getNumber()));
+
+        // saved in the directory of the job once it is renamed
+        File oldDir = p.getRootDir();
+        p.renameTo("duration-table-renamed");
+        Assert.assertSame(table, StageDurationTable.get(p));
+        saved = new File(p.getRootDir(), StageDurationTable.FILE_NAME);
+        Assert.assertTrue(saved.delete());
+        j.waitForCompletion(p.scheduleBuild2(0).waitForStart());
+        for (int i = 0; i < 100 && !saved.exists(); i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(saved.exists());
+        Assert.assertFalse(oldDir.exists());
+    }
 }
@@ -0,0 +1,53 @@
+package io.blueocean.rest.pipeline.editor;
+
+import io.jenkins.blueocean.commons.stapler.Export;
+import io.jenkins.blueocean.commons.stapler.TreeResponse;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+import org.kohsuke.stapler.interceptor.Interceptor;
+import org.kohsuke.stapler.interceptor.InterceptorAnnotation;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.lang.reflect.InvocationTargetException;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Serves the return value of a {@link PipelineMetadataService} web method as JSON like {@link TreeResponse}, from a
+ * {@link MetadataSnapshot} kept until the metadata changes unless the request asks for a <code>tree</code>,
+ * <code>depth</code>, <code>pretty</code> or <code>jsonp</code> rendering.
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+@InterceptorAnnotation(MetadataResponse.Processor.class)
+public @interface MetadataResponse {
+    class Processor extends Interceptor {
+        @Override
+        public Object invoke(StaplerRequest request, StaplerResponse response, Object instance, Object[] arguments)
+                throws IllegalAccessException, InvocationTargetException, ServletException {
+            if (request.getParameter("tree") != null || request.getParameter("depth") != null
+                    || request.getParameter("pretty") != null || request.getParameter("jsonp") != null) {
+                final Object resp = target.invoke(request, response, instance, arguments);
+                return (HttpResponse) (req, rsp, node) -> Export.doJson(req, rsp, resp);
+            }
+
+            // taken before computing, so a snapshot of metadata that changed meanwhile is dropped with its cache
+            PipelineMetadataService.Metadata metadata = ((PipelineMetadataService) instance).getMetadata();
+            MetadataSnapshot snapshot = metadata.getSnapshot(target.getName());
+            if (snapshot == null) {
+                try {
+                    snapshot = metadata.putSnapshot(target.getName(),
+                                                    MetadataSnapshot.of(target.invoke(request, response, instance, arguments)));
+                } catch (IOException e) {
+                    throw new ServletException(e);
+                }
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.blueocean.rest.pipeline.editor;
+
+import io.jenkins.blueocean.commons.stapler.CachedJsonResponse;
+import io.jenkins.blueocean.commons.stapler.Export;
+import jenkins.model.Jenkins;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Metadata response serialized once, with a gzip variant and strong ETags, see {@link MetadataResponse}.
+ */
+final class MetadataSnapshot implements HttpResponse {
+
+    final CachedJsonResponse body;
+
+    private MetadataSnapshot(CachedJsonResponse body) {
+        this.body = body;
+    }
+
+    static @Nonnull MetadataSnapshot of(@Nonnull Object bean) throws IOException {
+        StringWriter writer = new StringWriter();
+        Export.toJsonResponse(bean, writer);
+        return new MetadataSnapshot(CachedJsonResponse.of(writer.toString()));
+    }
+
+    @Override
+    public void generateResponse(StaplerRequest req, StaplerResponse rsp, Object node) throws IOException {
+        rsp.setHeader("X-Jenkins", Jenkins.VERSION);
+        rsp.setHeader("X-Jenkins-Session", Jenkins.SESSION_HASH);
+        body.generateResponse(req, rsp, node);
+    }
+}
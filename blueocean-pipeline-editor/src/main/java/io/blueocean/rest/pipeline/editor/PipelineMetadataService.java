@@ -2,10 +2,14 @@ package io.blueocean.rest.pipeline.editor;
 
 import hudson.Extension;
 import hudson.ExtensionList;
+import hudson.ExtensionListListener;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.XmlFile;
 import hudson.model.Describable;
 import hudson.model.Descriptor;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import hudson.security.csrf.CrumbIssuer;
 import hudson.tasks.BuildWrapper;
 import hudson.tasks.Builder;
@@ -35,6 +39,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * This provides and Blueocean REST API endpoint to obtain pipeline step metadata.
@@ -47,6 +54,21 @@ public class PipelineMetadataService implements ApiRoutable {
 
     final static List<String> INCLUDED_ADVANCED_STEPS = Collections.unmodifiableList(Arrays.asList("catchError", "container"));
 
+    /** Metadata computed since the last change of the installed extensions or tools */
+    private volatile Metadata metadata = new Metadata();
+
+    public PipelineMetadataService() {
+        // steps, agents, build steps, tools and decorators come with plugins, recompute when new ones are installed
+        ExtensionListListener listener = new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                invalidate();
+            }
+        };
+        ExtensionList.lookup(Descriptor.class).addListener(listener);
+        ExtensionList.lookup(ExportedDescribableParameterDecorator.class).addListener(listener);
+    }
+
     @Override
     public String getUrlName() {
         return "pipeline-metadata";
@@ -65,8 +87,12 @@ public class PipelineMetadataService implements ApiRoutable {
      * Function to return all {@link DeclarativeAgent}s present in the system when accessed through the REST API
      */
     @GET
-    @TreeResponse
+    @MetadataResponse
     public ExportedDescribableModel[] doAgentMetadata() {
+        return metadata.get("agentMetadata", this::computeAgentMetadata);
+    }
+
+    private ExportedDescribableModel[] computeAgentMetadata() {
         List<ExportedDescribableModel> models = new ArrayList<>();
 
         for (DeclarativeAgentDescriptor d : DeclarativeAgentDescriptor.all()) {
@@ -90,8 +116,12 @@ public class PipelineMetadataService implements ApiRoutable {
      * pipeline scripts need: symbol and name to specify tools
      */
     @GET
-    @TreeResponse
+    @MetadataResponse
     public ExportedToolDescriptor[] doToolMetadata() {
+        return metadata.get("toolMetadata", this::computeToolMetadata);
+    }
+
+    private ExportedToolDescriptor[] computeToolMetadata() {
         List<ExportedToolDescriptor> models = new ArrayList<>();
         for (ToolDescriptor<? extends ToolInstallation> d : ToolInstallation.all()) {
             ExportedToolDescriptor descriptor = new ExportedToolDescriptor(d.getDisplayName(), symbolForObject(d), d.getClass());
@@ -128,8 +158,12 @@ public class PipelineMetadataService implements ApiRoutable {
      * Function to return all applicable step descriptors for the "wrappers" section.
      */
     @GET
-    @TreeResponse
+    @MetadataResponse
     public ExportedPipelineStep[] doWrapperMetadata() {
+        return metadata.get("wrapperMetadata", this::computeWrapperMetadata);
+    }
+
+    private ExportedPipelineStep[] computeWrapperMetadata() {
         List<ExportedPipelineStep> wrappers = new ArrayList<>();
 
         for (StepDescriptor d : StepDescriptor.all()) {
@@ -148,8 +182,12 @@ public class PipelineMetadataService implements ApiRoutable {
      * Function to return all step descriptors present in the system when accessed through the REST API
      */
     @GET
-    @TreeResponse
+    @MetadataResponse
     public ExportedPipelineFunction[] doPipelineStepMetadata() {
+        return metadata.get("pipelineStepMetadata", this::computePipelineStepMetadata);
+    }
+
+    private ExportedPipelineFunction[] computePipelineStepMetadata() {
         List<ExportedPipelineFunction> pd = new ArrayList<>();
         // POST to this with parameter names
         // e.g. json:{"time": "1", "unit": "NANOSECONDS", "stapler-class": "org.jenkinsci.plugins.workflow.steps.TimeoutStep", "$class": "org.jenkinsci.plugins.workflow.steps.TimeoutStep"}
@@ -250,4 +288,61 @@ public class PipelineMetadataService implements ApiRoutable {
             return null;
         }
     }
+
+    /**
+     * Drops the metadata computed so far, it is computed again on the next request.
+     */
+    public void invalidate() {
+        metadata = new Metadata();
+    }
+
+    Metadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Metadata and {@link MetadataSnapshot}s by web method, replaced as a whole when the metadata changes.
+     */
+    static final class Metadata {
+        private final ConcurrentMap<String, Object[]> values = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, MetadataSnapshot> snapshots = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private <T> T[] get(String name, Supplier<T[]> compute) {
+            T[] value = (T[]) values.get(name);
+            if (value == null) {
+                T[] computed = compute.get();
+                value = (T[]) values.putIfAbsent(name, computed);
+                if (value == null) {
+                    value = computed;
+                }
+            }
+            // callers get their own array
+            return value.clone();
+        }
+
+        MetadataSnapshot getSnapshot(String name) {
+            return snapshots.get(name);
+        }
+
+        MetadataSnapshot putSnapshot(String name, MetadataSnapshot snapshot) {
+            MetadataSnapshot existing = snapshots.putIfAbsent(name, snapshot);
+            return existing != null ? existing : snapshot;
+        }
+    }
+
+    /**
+     * Recomputes the tool metadata when tool installations are configured.
+     */
+    @Extension
+    public static class ToolConfigurationListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof ToolDescriptor) {
+                for (PipelineMetadataService service : ExtensionList.lookup(PipelineMetadataService.class)) {
+                    service.invalidate();
+                }
+            }
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package io.blueocean.rest.pipeline.editor;
 
+import com.gargoylesoftware.htmlunit.WebRequest;
+import hudson.ExtensionList;
 import hudson.model.JDK;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
@@ -11,6 +13,7 @@ import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.JenkinsRule.JSONWebResponse;
 
 import java.io.IOException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -138,6 +141,30 @@ public class PipelineMetadataServiceTest {
         assertThat(steps, hasItem(stepWithName("withSonarQubeEnv")));
     }
 
+    @Test
+    public void metadataIsCachedUntilInvalidated() throws Exception {
+        PipelineMetadataService svc = ExtensionList.lookupSingleton(PipelineMetadataService.class);
+
+        JSONWebResponse rsp = j.getJSON("blue/rest/pipeline-metadata/agentMetadata");
+        String etag = rsp.getResponseHeaderValue("ETag");
+        assertNotNull(etag);
+        assertEquals(etag, j.getJSON("blue/rest/pipeline-metadata/agentMetadata").getResponseHeaderValue("ETag"));
+        assertSame(svc.getMetadata(), svc.getMetadata());
+
+        // the snapshot is the serialized array of the metadata
+        assertEquals(svc.doAgentMetadata().length, JSONArray.fromObject(rsp.getContentAsString()).size());
+
+        JenkinsRule.WebClient wc = j.createWebClient();
+        wc.getOptions().setThrowExceptionOnFailingStatusCode(false);
+        WebRequest request = new WebRequest(new URL(j.getURL(), "blue/rest/pipeline-metadata/agentMetadata"));
+        request.setAdditionalHeader("If-None-Match", etag);
+        assertEquals(304, wc.getPage(request).getWebResponse().getStatusCode());
+
+        PipelineMetadataService.Metadata metadata = svc.getMetadata();
+        j.jenkins.getDescriptorByType(JDK.DescriptorImpl.class).save();
+        assertNotSame(metadata, svc.getMetadata());
+    }
+
     private Matcher<? super ExportedPipelineStep> stepWithName(String stepName) {
         return hasProperty("functionName", is(stepName));
     }
@@ -60,6 +60,13 @@ public abstract class ContainerFilter implements ExtensionPoint {
      * Filter items based on supplied filter and paging criteria
      */
     public static <T extends Item> Collection<T> filter(Collection<T> items, int start, int limit) {
+        return filter((Iterable<T>) items, start, limit);
+    }
+
+    /**
+     * Filter items based on supplied filter and paging criteria, iterating items only up to the last one of the page
+     */
+    public static <T extends Item> Collection<T> filter(Iterable<T> items, int start, int limit) {
         String[] filterNames = filterNames();
 
         int skipped=0;
@@ -85,6 +92,21 @@ public abstract class ContainerFilter implements ExtensionPoint {
         return out;
     }
 
+    /**
+     * Predicate matching the items kept by the filters of the current StaplerRequest
+     */
+    public static Predicate<Item> requestFilter() {
+        Predicate<Item>[] filters = getFilters(filterNames());
+        return item -> {
+            for (Predicate<Item> filter : filters) {
+                if (!filter.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
     @SuppressWarnings("unchecked")
     private static Predicate<Item>[] getFilters(@NonNull String...filterNames){
         Predicate<Item>[] filters = new Predicate[filterNames.length];
@@ -10,11 +10,12 @@ import io.jenkins.blueocean.rest.hal.Link;
 import io.jenkins.blueocean.rest.model.BlueOrganization;
 import io.jenkins.blueocean.rest.model.BluePipeline;
 import io.jenkins.blueocean.rest.model.BluePipelineContainer;
+import io.jenkins.blueocean.rest.pageable.Pageables;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * @author Vivek Pandey
@@ -50,15 +51,20 @@ public class PipelineContainerImpl extends BluePipelineContainer {
         return getPipelines(itemGroup.getItems());
     }
 
+    /**
+     * Filters and converts the items lazily, so that a page stops once it is filled.
+     */
+    @Override
+    public Iterator<BluePipeline> iterator(int start, int limit) {
+        return Pageables.slice(getPipelines(itemGroup.getItems()), start, limit);
+    }
+
     public  Iterator<BluePipeline> getPipelines(Collection<? extends Item> items){
-        items = ContainerFilter.filter(items);
-        List<BluePipeline> pipelines = new ArrayList<>();
-        for (Item item : items) {
-            BluePipeline pipeline  = BluePipelineFactory.getPipelineInstance(item, this);
-            if(pipeline != null){
-                pipelines.add(pipeline);
-            }
-        }
-        return pipelines.iterator();
+        Predicate<Item> filter = ContainerFilter.requestFilter();
+        return items.stream()
+            .filter(filter)
+            .map(item -> BluePipelineFactory.getPipelineInstance(item, this))
+            .filter(Objects::nonNull)
+            .iterator();
     }
 }
@@ -8,6 +8,7 @@ import io.jenkins.blueocean.commons.ServiceException;
 import io.jenkins.blueocean.commons.ServiceException.UnexpectedErrorException;
 import io.jenkins.blueocean.rest.OmniSearch;
 import io.jenkins.blueocean.rest.Query;
+import io.jenkins.blueocean.rest.factory.BluePipelineFactory;
 import io.jenkins.blueocean.rest.factory.organization.OrganizationFactory;
 import io.jenkins.blueocean.rest.model.BlueOrganization;
 import io.jenkins.blueocean.rest.model.BluePipeline;
@@ -21,9 +22,16 @@ import org.slf4j.LoggerFactory;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
 
 /**
  * Returns flattened view of pipelines
@@ -87,68 +95,98 @@ public class PipelineSearch extends OmniSearch<BluePipeline>{
             }
         }
 
-        Collection<Item> items = new ArrayList<>();
-        if(!excludeList.isEmpty()) {
-            for (Item item : getAllItems(orgItemGroup)) {
-                if (!exclude(item.getParent(), excludeList)) {
-                    items.add(item);
-                }
-            }
-        }else{
-            items = getAllItems(orgItemGroup);
-        }
-        items = ContainerFilter.filter(items);
-
         BlueOrganization org = OrganizationFactory.getInstance().getContainingOrg(orgItemGroup);
         if (org == null) {
             throw new ServiceException.UnexpectedErrorException("Could not find organization");
         }
-        final Iterator<BluePipeline> pipelineIterator = new PipelineContainerImpl(org, orgItemGroup, org).getPipelines(items);
-        final List<BluePipeline> pipelines = new ArrayList<>();
+
         String pipeline = q.param(getType());
-        if(pipeline == null) {
-            return Pageables.wrap(() -> pipelineIterator);
-        }else{
-            GlobMatcher matcher = pipeline.contains("*") ? new GlobMatcher(pipeline) : null;
-            if (matcher != null) {
-                while (pipelineIterator.hasNext()) {
-                    BluePipeline p = pipelineIterator.next();
-                    String decodedName = null;
+        Predicate<String> nameMatcher = null;
+        List<String> literals = null;
+        if (pipeline != null) {
+            if (pipeline.contains("*")) {
+                GlobMatcher matcher = new GlobMatcher(pipeline);
+                nameMatcher = name -> {
                     try {
-                        decodedName = URLDecoder.decode(p.getFullDisplayName(), "UTF-8");
+                        return matcher.matches(URLDecoder.decode(name, "UTF-8"));
                     } catch (UnsupportedEncodingException e) {
-                        throw new UnexpectedErrorException("Could not decode '" + p.getFullDisplayName() + "'", e);
+                        throw new UnexpectedErrorException("Could not decode '" + name + "'", e);
                     }
-                    if (matcher.matches(decodedName)) {
-                        pipelines.add(p);
-                    }
-                }
-
+                };
+                literals = globLiterals(pipeline);
             } else {
-                while (pipelineIterator.hasNext()) {
-                    BluePipeline p = pipelineIterator.next();
-                    if (pipeline.equals(p.getFullDisplayName())) {
-                        pipelines.add(p);
-                    }
+                nameMatcher = pipeline::equals;
+                try {
+                    literals = Collections.singletonList(URLDecoder.decode(pipeline, "UTF-8"));
+                } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                    // matched against every item
                 }
             }
-            return Pageables.wrap(pipelines);
         }
+
+        // items come from the index in the order of a walk of the item tree, and are checked and converted lazily so
+        // that a page stops once it is filled
+        Predicate<Item> filter = ContainerFilter.requestFilter();
+        Map<ItemGroup, Boolean> readable = new HashMap<>();
+        Predicate<String> matcher = nameMatcher;
+        PipelineContainerImpl container = new PipelineContainerImpl(org, orgItemGroup, org);
+        Iterator<Item> items = PipelineSearchIndex.get().find(orgItemGroup, literals);
+        final Iterator<BluePipeline> pipelineIterator =
+            StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED), false)
+                .filter(item -> isReadable(item, orgItemGroup, readable))
+                .filter(item -> excludeList.isEmpty() || !exclude(item.getParent(), excludeList))
+                .filter(filter)
+                .filter(item -> matcher == null || matcher.test(AbstractPipelineImpl.getFullDisplayName(org, item)))
+                .map(item -> BluePipelineFactory.getPipelineInstance(item, container))
+                .filter(Objects::nonNull)
+                .iterator();
+        return Pageables.wrap(() -> pipelineIterator);
     }
 
-    private List<Item> getAllItems(ItemGroup org) {
-        List<Item> r = new ArrayList<>();
-        getAllItems(org,r);
-        return r;
+    /**
+     * @return text found as is in every name matching the glob
+     */
+    static List<String> globLiterals(String glob) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '\\') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                if (c == '[') {
+                    // skip the character class
+                    int end = glob.indexOf(']', i + 2);
+                    i = end < 0 ? glob.length() : end;
+                } else {
+                    // skip the escaped character, or nothing
+                    i += c == '\\' ? 1 : 0;
+                }
+            } else {
+                literal.append(c);
+            }
+        }
+        literals.add(literal.toString());
+        return literals;
     }
 
-    private void getAllItems(ItemGroup<?> org, List<Item> r) {
-        for (Item i : org.getItems()) {
-            r.add(i);
-            if (i instanceof ItemGroup) {
-                getAllItems((ItemGroup)i,r);
+    /**
+     * Whether the current user can read the item and the item groups between it and the organization, as when
+     * walking the item tree.
+     */
+    private static boolean isReadable(Item item, ItemGroup org, Map<ItemGroup, Boolean> readable) {
+        if (!item.hasPermission(Item.READ)) {
+            return false;
+        }
+        ItemGroup parent = item.getParent();
+        while (parent != org && parent instanceof Item) {
+            final Item group = (Item) parent;
+            if (!readable.computeIfAbsent(parent, p -> group.hasPermission(Item.READ))) {
+                return false;
             }
+            parent = group.getParent();
         }
+        return true;
     }
 
     /**
@@ -0,0 +1,376 @@
+package io.jenkins.blueocean.service.embedded.rest;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.TopLevelItem;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
+import java.net.URLDecoder;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * Pipelines of all organizations, kept in memory for {@link PipelineSearch} so that a search does not walk the item
+ * tree.
+ *
+ * Items are kept by full name in the order of a walk of the item tree, so that the items of an organization are a
+ * range of the index. Each trigram of the display name of an item points to the item, so that a name or glob is only
+ * matched against the items whose display name, or the display name of a parent, holds one of its trigrams. The index
+ * is built on first search and kept up to date by an {@link ItemListener} and a {@link SaveableListener}. Nothing is
+ * persisted.
+ */
+final class PipelineSearchIndex {
+
+    /**
+     * Orders full names like a walk of the item tree: parents first, then children by name ignoring case, as item
+     * groups keep them.
+     */
+    static final Comparator<String> TREE_ORDER = (n1, n2) -> {
+        String[] s1 = n1.split("/");
+        String[] s2 = n2.split("/");
+        for (int i = 0; i < Math.min(s1.length, s2.length); i++) {
+            int c = s1[i].compareToIgnoreCase(s2[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return s1.length != s2.length ? Integer.compare(s1.length, s2.length) : n1.compareTo(n2);
+    };
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(e -> e.fullName, TREE_ORDER);
+
+    /** Index of the running Jenkins, guarded by the class lock */
+    private static PipelineSearchIndex current;
+
+    private final WeakReference<Jenkins> jenkins;
+
+    private final ConcurrentNavigableMap<String, Entry> entries = new ConcurrentSkipListMap<>(TREE_ORDER);
+
+    /** Items by trigram of their lower cased display name */
+    private final ConcurrentMap<String, NavigableSet<Entry>> trigrams = new ConcurrentHashMap<>();
+
+    private PipelineSearchIndex(Jenkins jenkins) {
+        this.jenkins = new WeakReference<>(jenkins);
+    }
+
+    static synchronized @Nonnull PipelineSearchIndex get() {
+        Jenkins jenkins = Jenkins.get();
+        if (current == null || current.jenkins.get() != jenkins) {
+            PipelineSearchIndex index = new PipelineSearchIndex(jenkins);
+            // every item, whoever searches first
+            try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                for (Item item : jenkins.getItems()) {
+                    index.add(item);
+                }
+            }
+            current = index;
+        }
+        return current;
+    }
+
+    /**
+     * Items under the given group in tree order, including at least all items whose relative display name matches a
+     * pattern made of the given literal text. Permissions are not checked.
+     *
+     * @param group scope of the search
+     * @param literals text found as is in every matching display name, ignoring case, null to return all items
+     */
+    @Nonnull Iterator<Item> find(@Nonnull ItemGroup<?> group, @CheckForNull Iterable<String> literals) {
+        String scope = group instanceof Item ? ((Item) group).getFullName() : null;
+        String prefix = scope + '/';
+        Iterator<Entry> candidates;
+        NavigableSet<Entry> rarest = literals == null ? null : rarest(literals);
+        if (rarest == null) {
+            candidates = (scope == null ? entries : entries.tailMap(scope, false)).values().iterator();
+        } else {
+            candidates = new SubtreeIterator(rarest.iterator());
+        }
+        return new Iterator<Item>() {
+            private Item next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && candidates.hasNext()) {
+                    Entry entry = candidates.next();
+                    if (scope == null || entry.fullName.startsWith(prefix)) {
+                        next = entry.item;
+                    } else if (rarest == null) {
+                        // past the range of the scope
+                        return false;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Item item = next;
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * @return the smallest set of items holding a trigram of the literals, null if the literals have no trigram
+     */
+    private @CheckForNull NavigableSet<Entry> rarest(Iterable<String> literals) {
+        NavigableSet<Entry> rarest = null;
+        for (String literal : literals) {
+            for (String trigram : trigrams(literal)) {
+                NavigableSet<Entry> items = trigrams.getOrDefault(trigram, Collections.emptyNavigableSet());
+                if (rarest == null || items.size() < rarest.size()) {
+                    rarest = items;
+                }
+            }
+        }
+        return rarest;
+    }
+
+    /**
+     * Indexes the item and all items under it.
+     */
+    private void add(Item item) {
+        if (!(item instanceof TopLevelItem)) {
+            return;
+        }
+        remove(item.getFullName());
+        index(new Entry(item));
+        if (item instanceof ItemGroup) {
+            for (Object child : ((ItemGroup<?>) item).getItems()) {
+                add((Item) child);
+            }
+        }
+    }
+
+    /**
+     * Indexes the item again if its display name changed, or indexes it with the items under it if it is not indexed.
+     */
+    private void update(Item item) {
+        Entry indexed = entries.get(item.getFullName());
+        if (indexed == null) {
+            add(item);
+            return;
+        }
+        Entry entry = new Entry(item);
+        if (indexed.item != item || !indexed.trigrams.equals(entry.trigrams)) {
+            unindex(indexed);
+            index(entry);
+        }
+    }
+
+    /**
+     * Removes the item of the given full name and all items under it.
+     */
+    private void remove(String fullName) {
+        for (Entry entry : entries.tailMap(fullName, true).values()) {
+            if (!entry.fullName.equals(fullName) && !entry.fullName.startsWith(fullName + '/')) {
+                break;
+            }
+            unindex(entry);
+        }
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.fullName, entry);
+        for (String trigram : entry.trigrams) {
+            trigrams.computeIfAbsent(trigram, t -> new ConcurrentSkipListSet<>(ENTRY_ORDER)).add(entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        entries.remove(entry.fullName);
+        for (String trigram : entry.trigrams) {
+            trigrams.computeIfPresent(trigram, (t, items) -> {
+                items.remove(entry);
+                return items.isEmpty() ? null : items;
+            });
+        }
+    }
+
+    /**
+     * @return lower cased trigrams of the text, skipping those with characters other than ASCII or with a '/', as the
+     * parts of a display name are separated by '/'
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            String trigram = text.substring(i, i + 3);
+            if (trigram.indexOf('/') < 0 && trigram.chars().allMatch(c -> c < 128)) {
+                trigrams.add(trigram.toLowerCase(Locale.ENGLISH));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * @return display name as it appears, decoded, in {@link AbstractPipelineImpl#getFullDisplayName}
+     */
+    private static String decodedDisplayName(String displayName) {
+        StringBuilder encoded = new StringBuilder();
+        for (String name : displayName.split(" » ")) {
+            if (encoded.length() > 0) {
+                encoded.append('/');
+            }
+            encoded.append(Util.rawEncode(name));
+        }
+        try {
+            return URLDecoder.decode(encoded.toString(), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return displayName;
+        }
+    }
+
+    private static final class Entry {
+        private final Item item;
+        private final String fullName;
+        private final Set<String> trigrams;
+
+        private Entry(Item item) {
+            this.item = item;
+            this.fullName = item.getFullName();
+            this.trigrams = PipelineSearchIndex.trigrams(decodedDisplayName(item.getDisplayName()));
+        }
+    }
+
+    /**
+     * Items of a set in tree order, each followed by the items under it.
+     */
+    private final class SubtreeIterator implements Iterator<Entry> {
+        private final Iterator<Entry> roots;
+        private Iterator<Entry> subtree = Collections.emptyIterator();
+        private String subtreePrefix;
+        private Entry next;
+
+        private SubtreeIterator(Iterator<Entry> roots) {
+            this.roots = roots;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (subtree.hasNext()) {
+                    Entry entry = subtree.next();
+                    if (entry.fullName.startsWith(subtreePrefix)) {
+                        next = entry;
+                    } else {
+                        subtree = Collections.emptyIterator();
+                    }
+                } else if (roots.hasNext()) {
+                    Entry root = roots.next();
+                    // roots under the previous root were walked with its subtree
+                    if (subtreePrefix == null || !root.fullName.startsWith(subtreePrefix)) {
+                        next = root;
+                        subtreePrefix = root.fullName + '/';
+                        subtree = entries.tailMap(root.fullName, false).values().iterator();
+                    }
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry entry = next;
+            next = null;
+            return entry;
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onCreated(Item item) {
+            apply(index -> index.add(item));
+        }
+
+        @Override
+        public void onCopied(Item src, Item item) {
+            apply(index -> index.add(item));
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            apply(index -> index.update(item));
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            apply(index -> index.remove(item.getFullName()));
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            apply(index -> {
+                index.remove(oldFullName);
+                index.add(item);
+            });
+        }
+
+        @Override
+        public void onLoaded() {
+            synchronized (PipelineSearchIndex.class) {
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Display names are changed without {@link ItemListener#onUpdated}, so saved items are checked too.
+     */
+    @Extension
+    public static class SaveableListenerImpl extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof TopLevelItem) {
+                apply(index -> index.update((Item) o));
+            }
+        }
+    }
+
+    /**
+     * Applies a change to the index of the running Jenkins, if it was built.
+     */
+    private static void apply(Consumer<PipelineSearchIndex> change) {
+        synchronized (PipelineSearchIndex.class) {
+            PipelineSearchIndex index = current;
+            if (index != null && index.jenkins.get() == Jenkins.getInstanceOrNull()) {
+                try (ACLContext ctx = ACL.as(ACL.SYSTEM)) {
+                    change.accept(index);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.jenkins.blueocean.service.embedded.rest;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import jenkins.model.lazy.LazyBuildMixIn;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Queue id to build number index of the runs of a job, used by {@link QueueUtil#getRun(Job, long)}.
+ *
+ * Built from the runs already in memory the first time a job is looked up, then kept up to date as runs start, so a
+ * lookup never loads builds of a lazy loading job. Runs that are still running, or that started since Jenkins started,
+ * are in memory or recorded at start, which covers the runs of the items a user just scheduled. Indexes are held
+ * weakly by job.
+ */
+final class QueueRunIndex {
+
+    /**
+     * Queue id index maximum number of jobs. Default 1000.
+     */
+    static final long QUEUE_RUN_INDEX_MAX_SIZE = Long.getLong("QUEUE_RUN_INDEX_MAX_SIZE", 1000);
+
+    private static final LoadingCache<Job, QueueRunIndex> INDEXES = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(QUEUE_RUN_INDEX_MAX_SIZE)
+            .build(QueueRunIndex::load);
+
+    private final Map<Long, Integer> numbers = new ConcurrentHashMap<>();
+
+    private QueueRunIndex() {}
+
+    /**
+     * @return whether runs of the job can be looked up in an index, only the loaded runs of lazy loading jobs are
+     * scanned to build it
+     */
+    static boolean isIndexed(@NonNull Job job) {
+        return job instanceof LazyBuildMixIn.LazyLoadingJob;
+    }
+
+    /**
+     * @return the run of the given queue item, null if not found
+     */
+    @CheckForNull
+    static Run getRun(@NonNull Job job, long queueId) {
+        QueueRunIndex index = INDEXES.get(job);
+        Integer number = index.numbers.get(queueId);
+        if (number == null) {
+            return null;
+        }
+        Run run = job.getBuildByNumber(number);
+        if (run == null || run.getQueueId() != queueId) {
+            index.numbers.remove(queueId, number);
+            return null;
+        }
+        return run;
+    }
+
+    private void put(Run run) {
+        if (run.getQueueId() != Run.QUEUE_ID_UNKNOWN) {
+            numbers.put(run.getQueueId(), run.getNumber());
+        }
+    }
+
+    private static QueueRunIndex load(Job job) {
+        QueueRunIndex index = new QueueRunIndex();
+        LazyBuildMixIn lazyBuildMixIn = ((LazyBuildMixIn.LazyLoadingJob) job).getLazyBuildMixIn();
+        for (Object run : lazyBuildMixIn.getRunMap().getLoadedBuilds().values()) {
+            if (run != null) {
+                index.put((Run) run);
+            }
+        }
+        return index;
+    }
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onStarted(Run<?, ?> run, TaskListener listener) {
+            Job job = run.getParent();
+            if (isIndexed(job)) {
+                INDEXES.get(job).put(run);
+            }
+        }
+
+        @Override
+        public void onDeleted(Run<?, ?> run) {
+            QueueRunIndex index = INDEXES.getIfPresent(run.getParent());
+            if (index != null) {
+                index.numbers.remove(run.getQueueId(), run.getNumber());
+            }
+        }
+    }
+}
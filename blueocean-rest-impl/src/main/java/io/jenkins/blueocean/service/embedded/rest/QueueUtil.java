@@ -28,7 +28,8 @@ public class QueueUtil {
     }
 
     /**
-     * Find a corresponding run for the queueId
+     * Find a corresponding run for the queueId. Runs of lazy loading jobs are looked up in a {@link QueueRunIndex}, which
+     * knows the runs in memory and the runs started since Jenkins started.
      * @param job to search
      * @param queueId of the item
      * @param <T> type of run
@@ -37,6 +38,9 @@ public class QueueUtil {
     @CheckForNull
     @SuppressWarnings("unchecked")
     public static <T extends Run> T getRun(@NonNull Job job, final long queueId) {
+        if (QueueRunIndex.isIndexed(job)) {
+            return (T) QueueRunIndex.getRun(job, queueId);
+        }
         return (T)StreamSupport.stream( job.getBuilds().stream().spliterator(), false)
                 .filter( input ->  input != null && ((T)input).getQueueId() == queueId)
                 .findFirst().orElse(null);
@@ -4,7 +4,6 @@ import hudson.Extension;
 import hudson.model.Job;
 import hudson.model.Run;
 import hudson.model.TopLevelItem;
-import hudson.util.RunList;
 import io.jenkins.blueocean.commons.ServiceException;
 import io.jenkins.blueocean.rest.OmniSearch;
 import io.jenkins.blueocean.rest.Query;
@@ -26,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -79,26 +79,18 @@ public class RunSearch extends OmniSearch<BlueRun> {
         return Pageables.wrap(findRuns(null));
     }
 
+    /**
+     * Runs of the given pipeline, or of all pipelines when null. Runs are loaded and wrapped lazily while iterating,
+     * so a page only loads the runs it skips over and shows.
+     */
     public static Iterable<BlueRun> findRuns(Job job, final Link parent){
-        final List<BlueRun> runs = new ArrayList<>();
-        Iterable<Job> pipelines;
+        final Iterable<Job> pipelines;
         if(job != null){
             pipelines = Collections.singletonList(job);
         }else{
             pipelines = Jenkins.get().getItems(Job.class);
         }
-        for (Job p : pipelines) {
-            RunList<? extends Run> runList = p.getBuilds();
-
-            for (Run r : runList) {
-                BlueRun run = BlueRunFactory.getRun(r, () -> parent);
-                if (run != null) {
-                    runs.add(run);
-                }
-            }
-        }
-
-        return runs;
+        return () -> new RunIterator(pipelines.iterator(), parent);
     }
 
     @SuppressWarnings("unchecked")
@@ -234,4 +226,40 @@ public class RunSearch extends OmniSearch<BlueRun> {
         return BlueRunFactory.getRun(r, resource);
     }
 
+    private static class RunIterator implements Iterator<BlueRun> {
+        private final Iterator<Job> pipelines;
+        private final Link parent;
+        private Iterator<? extends Run> runs = Collections.emptyIterator();
+        private BlueRun next;
+
+        private RunIterator(Iterator<Job> pipelines, Link parent) {
+            this.pipelines = pipelines;
+            this.parent = parent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (runs.hasNext()) {
+                    next = BlueRunFactory.getRun(runs.next(), () -> parent);
+                } else if (pipelines.hasNext()) {
+                    runs = pipelines.next().getBuilds().iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public BlueRun next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BlueRun run = next;
+            next = null;
+            return run;
+        }
+    }
+
 }
@@ -210,6 +210,9 @@ public class PipelineApiTest extends BaseTest {
 
         responses = get("/organizations/jenkins/pipelines/?limit=40", List.class);
         assertEquals(40, responses.size());
+
+        responses = get("/organizations/jenkins/pipelines/?start=100&limit=40", List.class);
+        assertEquals(10, responses.size());
     }
 
 
@@ -533,6 +536,17 @@ public class PipelineApiTest extends BaseTest {
         assertNull(r); //its not moved out of queue yet
     }
 
+    @Test
+    public void getRunByQueueId() throws Exception {
+        FreeStyleProject p1 = j.createFreeStyleProject("pipeline1");
+        FreeStyleBuild b1 = j.buildAndAssertSuccess(p1);
+        FreeStyleBuild b2 = j.buildAndAssertSuccess(p1);
+
+        assertEquals(b1, QueueUtil.getRun(p1, b1.getQueueId()));
+        assertEquals(b2, QueueUtil.getRun(p1, b2.getQueueId()));
+        assertNull(QueueUtil.getRun(p1, b2.getQueueId() + 1000));
+    }
+
     @Test
     public void testNewPipelineQueueItem() throws Exception {
         // We always want the first two jobs to be executing
@@ -105,4 +105,41 @@ public class PipelineSearchTest extends BaseTest {
         Assert.assertEquals("aa", ((Map) req.get(0)).get("name"));
         Assert.assertEquals("bb", ((Map) req.get(1)).get("name"));
     }
+
+    @Test
+    public void testSearchAfterChanges() throws Exception {
+        MockFolder folder = j.createFolder("Cool");
+        folder.createProject(FreeStyleProject.class, "aa");
+
+        List req = request()
+            .get("/search/?q=type:pipeline;pipeline:*aa*")
+            .build(List.class);
+        Assert.assertEquals(1, req.size());
+
+        // items created, renamed and deleted after the first search
+        MockFolder folder2 = folder.createProject(MockFolder.class, "Nested");
+        FreeStyleProject nestedAa = folder2.createProject(FreeStyleProject.class, "aab");
+        folder2.createProject(FreeStyleProject.class, "yy");
+
+        req = request()
+            .get("/search/?q=type:pipeline;pipeline:*aa*")
+            .build(List.class);
+        Assert.assertEquals(2, req.size());
+        Assert.assertEquals("Cool/aa", ((Map) req.get(0)).get("fullName"));
+        Assert.assertEquals("Cool/Nested/aab", ((Map) req.get(1)).get("fullName"));
+
+        folder2.renameTo("Other");
+        req = request()
+            .get("/search/?q=type:pipeline;pipeline:*other/y*")
+            .build(List.class);
+        Assert.assertEquals(1, req.size());
+        Assert.assertEquals("Cool/Other/yy", ((Map) req.get(0)).get("fullName"));
+
+        nestedAa.delete();
+        req = request()
+            .get("/search/?q=type:pipeline;pipeline:*aa*")
+            .build(List.class);
+        Assert.assertEquals(1, req.size());
+        Assert.assertEquals("Cool/aa", ((Map) req.get(0)).get("fullName"));
+    }
 }
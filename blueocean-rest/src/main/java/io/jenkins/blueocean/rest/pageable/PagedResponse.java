@@ -13,10 +13,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.StreamSupport;
 
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
@@ -54,8 +52,8 @@ public @interface PagedResponse {
                     limit = DEFAULT_LIMIT;
                 }
 
-                Object[] page = StreamSupport.stream(Spliterators.spliteratorUnknownSize(resp.iterator(start, limit), Spliterator.SORTED), false)
-                    .toArray();
+                // pulled by Export before the response is committed, so that a failing container gets an error response
+                Iterator<?> page = resp.iterator(start, limit);
                 String url = req.getOriginalRequestURI();
 
                 String separator = "?";
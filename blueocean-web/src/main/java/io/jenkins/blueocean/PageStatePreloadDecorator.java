@@ -24,6 +24,7 @@
 package io.jenkins.blueocean;
 
 import hudson.Extension;
+import io.jenkins.blueocean.commons.PageStatePreloadExecutor;
 import io.jenkins.blueocean.commons.PageStatePreloader;
 
 import java.util.List;
@@ -38,4 +39,11 @@ public class PageStatePreloadDecorator extends BluePageDecorator {
         return PageStatePreloader.all();
     }
 
+    /**
+     * State of the page, computed once per page with {@link PageStatePreloadExecutor}.
+     */
+    public List<PageStatePreloadExecutor.PageState> getPageStates(){
+        return PageStatePreloadExecutor.preload(getPageStatePreloaders());
+    }
+
 }